@@ -8,6 +8,8 @@ import com.mms.base.common.audit.vo.OperationLogVo;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
+
 /**
  * 实现功能【用户操作日志 Mapper】
  * <p>
@@ -29,4 +31,9 @@ public interface OperationLogMapper extends BaseMapper<OperationLogEntity> {
      * 根据ID查询用户操作日志详情
      */
     OperationLogVo getOperationLogById(@Param("logId") Long logId);
+
+    /**
+     * 批量插入用户操作日志（单条多行 INSERT），主键已存在的行忽略
+     */
+    void insertBatchIgnoreDuplicate(@Param("list") List<OperationLogEntity> list);
 }
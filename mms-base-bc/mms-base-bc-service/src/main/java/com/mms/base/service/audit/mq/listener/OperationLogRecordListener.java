@@ -6,19 +6,23 @@ import com.mms.common.mq.api.constants.MqConsumerGroupNames;
 import com.mms.common.mq.api.constants.MqTagConstants;
 import com.mms.common.mq.api.constants.MqTopicConstants;
 import com.mms.common.mq.api.message.MqMessage;
-import com.mms.common.mq.rocket.listener.AbstractMqMessageListener;
+import com.mms.common.mq.rocket.listener.AbstractMqBatchMessageListener;
 import com.mms.common.webmvc.audit.OperationLogRecordMqPayload;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 实现功能【操作日志 MQ 消费者】
  * <p>
+ * 批量消费：多条消息合并为一次多行 INSERT，写入成功后才确认位点；
+ * 重复投递的消息按主键忽略，保证整批重投时幂等。
  * TODO: audit_operation_log 定时清理（建议保留 180 天，可配置）。
  * </p>
  *
@@ -33,7 +37,7 @@ import org.springframework.util.StringUtils;
         selectorExpression = MqTagConstants.AUDIT_OPERATION_LOG_RECORD,
         consumerGroup = MqConsumerGroupNames.AUDIT_OPERATION_LOG
 )
-public class OperationLogRecordListener extends AbstractMqMessageListener<OperationLogRecordMqPayload> {
+public class OperationLogRecordListener extends AbstractMqBatchMessageListener<OperationLogRecordMqPayload> {
 
     @Resource
     private OperationLogMapper operationLogMapper;
@@ -44,17 +48,20 @@ public class OperationLogRecordListener extends AbstractMqMessageListener<Operat
     }
 
     @Override
-    protected void handleMessage(MqMessage<OperationLogRecordMqPayload> message) {
-        OperationLogRecordMqPayload payload = message.getPayload();
-        if (payload == null || payload.getId() == null) {
-            log.warn("操作日志 MQ 载荷无效，忽略");
-            return;
+    protected void handleBatch(List<MqMessage<OperationLogRecordMqPayload>> messages) {
+        List<OperationLogEntity> entities = new ArrayList<>(messages.size());
+        for (MqMessage<OperationLogRecordMqPayload> message : messages) {
+            OperationLogRecordMqPayload payload = message.getPayload();
+            if (payload == null || payload.getId() == null) {
+                log.warn("操作日志 MQ 载荷无效，忽略");
+                continue;
+            }
+            entities.add(toEntity(payload));
         }
-        try {
-            operationLogMapper.insert(toEntity(payload));
-        } catch (DuplicateKeyException ex) {
-            log.info("重复的操作日志消息，已忽略, logId={}", payload.getId());
+        if (entities.isEmpty()) {
+            return;
         }
+        operationLogMapper.insertBatchIgnoreDuplicate(entities);
     }
 
     private OperationLogEntity toEntity(OperationLogRecordMqPayload payload) {
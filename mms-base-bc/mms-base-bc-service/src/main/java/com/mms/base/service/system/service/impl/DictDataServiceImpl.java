@@ -102,7 +102,8 @@ public class DictDataServiceImpl implements DictDataService {
     }
 
     @Override
-    @Cacheable(cacheNames = CacheNameConstants.Base.DICT_DATA, key = "#dictTypeCode", unless = "#result == null || #result.isEmpty()")
+    // sync = true：并发未命中合并为一次回源；空列表同样缓存（字典数据变更时会清除该类型缓存），避免反复穿透数据库
+    @Cacheable(cacheNames = CacheNameConstants.Base.DICT_DATA, key = "#dictTypeCode", sync = true)
     public List<DictDataVo> getDictDataListByTypeCode(String dictTypeCode) {
         try {
             log.info("根据字典类型编码查询启用的数据字典数据列表，dictTypeCode：{}", dictTypeCode);
@@ -0,0 +1,170 @@
+package com.mms.common.cache.serializer;
+
+import com.mms.common.core.utils.JacksonObjectMapperUtils;
+import com.mms.common.security.core.vo.UserAuthorityVo;
+import lombok.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实现功能【缓存值序列化格式基准】
+ * <p>
+ * 对比 JSON、Smile、Smile+Deflate 三种缓存值编码在用户权限（UserAuthorityVo）与字典数据列表（DICT_DATA）上的
+ * 编码体积、编码耗时与解码耗时。编码体积在 Setup 阶段输出到控制台（每个参数组合一行 [payload-size]）。
+ * SMILE_DEFLATE 的压缩阈值取 1 字节以保证始终走压缩分支，线上 RedisManagerBuilder 的阈值为 1024 字节。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 23:36:15
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheValueFormatBenchmark {
+
+    @Param({"JSON", "SMILE", "SMILE_DEFLATE"})
+    private String format;
+
+    @Param({"USER_AUTHORITY", "DICT_DATA"})
+    private String payload;
+
+    private RedisSerializer<Object> serializer;
+
+    private Object value;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        GenericJackson2JsonRedisSerializer jsonSerializer =
+                new GenericJackson2JsonRedisSerializer(JacksonObjectMapperUtils.createRedisObjectMapper());
+        serializer = switch (format) {
+            case "JSON" -> jsonSerializer;
+            case "SMILE" -> new SmileRedisSerializer(jsonSerializer, 0);
+            case "SMILE_DEFLATE" -> new SmileRedisSerializer(jsonSerializer, 1);
+            default -> throw new IllegalArgumentException("未知格式: " + format);
+        };
+        value = switch (payload) {
+            case "USER_AUTHORITY" -> buildUserAuthority();
+            case "DICT_DATA" -> buildDictDataList();
+            default -> throw new IllegalArgumentException("未知数据: " + payload);
+        };
+        encoded = serializer.serialize(value);
+        if (!value.equals(serializer.deserialize(encoded))) {
+            throw new IllegalStateException("编解码结果不一致: format=" + format + ", payload=" + payload);
+        }
+        System.out.printf("%n[payload-size] format=%s, payload=%s, bytes=%d%n", format, payload, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    /**
+     * 典型管理员的角色与权限：4 个角色、200 个“模块:资源:操作” 形式的权限码
+     */
+    private static UserAuthorityVo buildUserAuthority() {
+        UserAuthorityVo vo = new UserAuthorityVo();
+        vo.getRoles().add("ROLE_SUPER_ADMIN");
+        vo.getRoles().add("ROLE_ADMIN");
+        vo.getRoles().add("ROLE_AUDITOR");
+        vo.getRoles().add("ROLE_USER");
+        String[] modules = {"system", "usercenter", "base", "job", "monitor"};
+        String[] actions = {"list", "query", "add", "edit", "remove", "export", "import", "reset"};
+        for (String module : modules) {
+            for (int resource = 0; resource < 5; resource++) {
+                for (String action : actions) {
+                    vo.getPermissions().add(module + ":resource" + resource + ":" + action);
+                }
+            }
+        }
+        return vo;
+    }
+
+    /**
+     * 一个字典类型下的 50 条启用字典数据
+     */
+    private static List<DictData> buildDictDataList() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 17, 12, 0, 0);
+        List<DictData> list = new ArrayList<>(50);
+        for (int i = 0; i < 50; i++) {
+            DictData data = new DictData();
+            data.setId(1000L + i);
+            data.setDictTypeId(12L);
+            data.setDictTypeCode("notice_category");
+            data.setDictTypeName("公告分类");
+            data.setDictLabel("分类" + i);
+            data.setDictValue(String.valueOf(i));
+            data.setDictSort(i);
+            data.setIsDefault(i == 0 ? 1 : 0);
+            data.setStatus(1);
+            data.setRemark("公告分类字典项 " + i);
+            data.setCreateBy(1L);
+            data.setCreateTime(now);
+            data.setUpdateBy(1L);
+            data.setUpdateTime(now);
+            list.add(data);
+        }
+        return list;
+    }
+
+    /**
+     * 字段与 mms-base-bc 的 DictDataVo 一致（公共模块不依赖业务模块，这里保留同构副本）
+     */
+    @Data
+    public static class DictData {
+
+        private Long id;
+
+        private Long dictTypeId;
+
+        private String dictTypeCode;
+
+        private String dictTypeName;
+
+        private String dictLabel;
+
+        private String dictValue;
+
+        private Integer dictSort;
+
+        private Integer isDefault;
+
+        private Integer status;
+
+        private String remark;
+
+        private Long createBy;
+
+        private LocalDateTime createTime;
+
+        private Long updateBy;
+
+        private LocalDateTime updateTime;
+    }
+}
@@ -0,0 +1,146 @@
+package com.mms.common.security.core.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实现功能【白名单路径匹配基准】
+ * <p>
+ * 按 10 / 100 / 1000 个模式对比三种匹配方式，每次调用轮换一条请求路径（命中与未命中各半）：
+ * linearScan：原实现，解析路径后逐个调用 PathPattern.matches；
+ * trieMatch：WhitelistPathMatcher 前缀树匹配，不经过结果缓存；
+ * cachedMatch：WhitelistPathMatcher.matches，热点路径命中结果缓存。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 23:27:40
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WhitelistPathMatcherBenchmark {
+
+    private static final String[] SERVICES = {"usercenter", "base", "job", "gateway"};
+
+    /**
+     * 轮换的请求路径条数（2 的幂，便于取模）
+     */
+    private static final int PATH_COUNT = 64;
+
+    @Param({"10", "100", "1000"})
+    private int patternCount;
+
+    private List<PathPattern> patterns;
+
+    private WhitelistPathMatcher matcher;
+
+    private String[] paths;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        PathPatternParser parser = new PathPatternParser();
+        patterns = new ArrayList<>(patternCount);
+        for (String raw : buildRawPatterns(patternCount)) {
+            patterns.add(parser.parse(raw));
+        }
+        matcher = new WhitelistPathMatcher(patterns);
+        paths = buildPaths(patternCount);
+        for (String path : paths) {
+            if (matcher.doMatch(path) != linearMatch(path)) {
+                throw new IllegalStateException("前缀树与逐个匹配结果不一致: " + path);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        return linearMatch(nextPath());
+    }
+
+    @Benchmark
+    public boolean trieMatch() {
+        return matcher.doMatch(nextPath());
+    }
+
+    @Benchmark
+    public boolean cachedMatch() {
+        return matcher.matches(nextPath());
+    }
+
+    private String nextPath() {
+        return paths[index++ & (PATH_COUNT - 1)];
+    }
+
+    private boolean linearMatch(String path) {
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(pathContainer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 生成白名单模式：少量全局模式 + 各服务下字面量前缀不同的模块模式
+     */
+    private static List<String> buildRawPatterns(int count) {
+        List<String> raw = new ArrayList<>(count);
+        raw.add("/doc.html");
+        raw.add("/webjars/**");
+        raw.add("/v3/api-docs/**");
+        raw.add("/**/*.ico");
+        for (int i = 0; raw.size() < count; i++) {
+            String prefix = "/api/" + SERVICES[i % SERVICES.length] + "/module" + i;
+            switch (i % 3) {
+                case 0 -> raw.add(prefix + "/public/**");
+                case 1 -> raw.add(prefix + "/*/open");
+                default -> raw.add(prefix + "/{id}/preview");
+            }
+        }
+        return raw;
+    }
+
+    /**
+     * 生成请求路径：偶数位命中某个模块模式，奇数位为同前缀但不命中的业务路径
+     */
+    private static String[] buildPaths(int patternCount) {
+        int moduleCount = Math.max(1, patternCount - 4);
+        String[] paths = new String[PATH_COUNT];
+        for (int i = 0; i < PATH_COUNT; i++) {
+            int module = (i * 7919) % moduleCount;
+            String prefix = "/api/" + SERVICES[module % SERVICES.length] + "/module" + module;
+            if ((i & 1) == 0) {
+                paths[i] = switch (module % 3) {
+                    case 0 -> prefix + "/public/info/" + i;
+                    case 1 -> prefix + "/detail/open";
+                    default -> prefix + "/" + i + "/preview";
+                };
+            } else {
+                paths[i] = prefix + "/admin/update/" + i;
+            }
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,91 @@
+package com.mms.common.security.core.signature;
+
+import com.mms.common.security.core.properties.GatewaySignatureProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实现功能【网关签名/验签算法基准】
+ * <p>
+ * 对比 SHA256withRSA（2048 位）、Ed25519、HmacSHA256 三种算法下 GatewaySigner.sign 与
+ * GatewaySignatureVerifier.verify 的单次耗时，密钥在 Setup 阶段随机生成。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 23:18:52
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewaySignatureBenchmark {
+
+    private static final String USER_ID = "10001";
+
+    private static final String USERNAME = "benchmark";
+
+    private static final String TOKEN_JTI = "0123456789abcdef0123456789abcdef";
+
+    private static final long TIMESTAMP = 1_792_000_000_000L;
+
+    private static final int RSA_KEY_SIZE = 2048;
+
+    @Param({"SHA256_WITH_RSA", "ED25519", "HMAC_SHA256"})
+    private GatewaySignatureAlgorithm algorithm;
+
+    private GatewaySigner signer;
+
+    private GatewaySignatureVerifier verifier;
+
+    private String signature;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        GatewaySignatureProperties properties = new GatewaySignatureProperties();
+        properties.setAlgorithm(algorithm);
+        if (algorithm.isSymmetric()) {
+            properties.setSecret("mms-benchmark-gateway-hmac-secret-0123456789");
+        } else {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.getKeyAlgorithm());
+            if (algorithm == GatewaySignatureAlgorithm.SHA256_WITH_RSA) {
+                generator.initialize(RSA_KEY_SIZE);
+            }
+            KeyPair keyPair = generator.generateKeyPair();
+            properties.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+            properties.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        }
+        signer = new GatewaySigner(properties);
+        verifier = new GatewaySignatureVerifier(properties);
+        signature = signer.sign(USER_ID, USERNAME, TOKEN_JTI, TIMESTAMP);
+        if (!verifier.verify(USER_ID, USERNAME, TOKEN_JTI, TIMESTAMP, signature)) {
+            throw new IllegalStateException("签名自检失败: algorithm=" + algorithm);
+        }
+    }
+
+    @Benchmark
+    public String sign() {
+        return signer.sign(USER_ID, USERNAME, TOKEN_JTI, TIMESTAMP);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return verifier.verify(USER_ID, USERNAME, TOKEN_JTI, TIMESTAMP, signature);
+    }
+}
@@ -0,0 +1,69 @@
+package com.mms.common.security.core.utils;
+
+import com.mms.common.security.core.properties.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实现功能【JWT 解析吞吐基准】
+ * <p>
+ * cachedParser：JwtUtils 当前实现，复用创建时构建的密钥与 JwtParser；
+ * rebuildParserPerCall：原实现，每次解析都重新派生 HMAC 密钥并构建 JwtParser。
+ * 多线程场景可通过 -t 参数指定线程数，例如 java -jar target/benchmarks.jar JwtParseBenchmark -t 8
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 23:10:24
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParseBenchmark {
+
+    private static final String SECRET = "mms-benchmark-jwt-secret-0123456789-abcdefghijklmnopqrstuvwxyz";
+
+    private JwtUtils jwtUtils;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        // 基准运行期间 Token 不能过期
+        jwtProperties.setAccessExpiration(TimeUnit.HOURS.toMillis(1));
+        jwtUtils = new JwtUtils(jwtProperties);
+        token = jwtUtils.generateAccessToken(10001L, "benchmark", "0123456789abcdef0123456789abcdef");
+    }
+
+    @Benchmark
+    public Claims cachedParser() {
+        return jwtUtils.parseToken(token);
+    }
+
+    @Benchmark
+    public Claims rebuildParserPerCall() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -3,13 +3,20 @@ package com.mms.common.cache.builder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mms.common.cache.constants.CacheNameConstants;
 import com.mms.common.cache.constants.CacheTtlConstants;
+import com.mms.common.cache.manager.NearCacheManager;
+import com.mms.common.cache.properties.NearCacheProperties;
+import com.mms.common.cache.properties.SingleFlightProperties;
+import com.mms.common.cache.serializer.CacheValueFormat;
+import com.mms.common.cache.serializer.SmileRedisSerializer;
 import com.mms.common.core.utils.JacksonObjectMapperUtils;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -22,6 +29,9 @@ import java.util.Objects;
  * <p>
  * 提供RedisCacheManager，支持Spring Cache注解（@Cacheable、@CacheEvict、@CachePut）
  * 支持按cacheName配置不同的TTL
+ * 开启本地近端缓存时，在 Redis 前按 cacheName 加一层本地缓存（L1）
+ * 开启合并回源时，@Cacheable(sync = true) 的并发未命中只回源一次
+ * 支持按cacheName选择缓存值序列化格式（JSON / Smile）
  * </p>
  *
  * @author li.hongyu
@@ -29,11 +39,55 @@ import java.util.Objects;
  */
 public class RedisManagerBuilder {
 
+    /**
+     * 二进制格式缓存值的压缩阈值（字节）
+     */
+    private static final int COMPRESS_THRESHOLD_BYTES = 1024;
+
     /**
      * 创建RedisCacheManager Bean
      * 配置默认TTL和按cacheName的TTL映射
      */
     public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+        return redisCacheManager(connectionFactory, true);
+    }
+
+    /**
+     * 创建缓存管理器，按配置决定是否在 Redis 前加本地缓存、是否合并回源
+     */
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, NearCacheProperties nearCacheProperties,
+                                     SingleFlightProperties singleFlightProperties) {
+        if (!nearCacheProperties.isEnabled() && !singleFlightProperties.isEnabled()) {
+            return cacheManager(connectionFactory);
+        }
+        // 事务感知由外层管理器负责，保证本地失效与广播同样在事务提交后执行
+        RedisCacheManager redisCacheManager = redisCacheManager(connectionFactory, false);
+        // 内层管理器不是 Spring Bean，需手动初始化以加载按cacheName的配置
+        redisCacheManager.afterPropertiesSet();
+        NearCacheManager nearCacheManager = new NearCacheManager(
+                redisCacheManager,
+                new StringRedisTemplate(connectionFactory),
+                nearCacheProperties.isEnabled() ? localTtls() : Map.of(),
+                nearCacheProperties.getMaximumSize(),
+                singleFlightProperties);
+        nearCacheManager.setTransactionAware(true);
+        return nearCacheManager;
+    }
+
+    /**
+     * 按cacheName配置本地缓存存活时间，未配置的cacheName不启用本地缓存
+     * 本地存活时间短于 Redis TTL，作为失效广播丢失时的兜底
+     */
+    private Map<String, Duration> localTtls() {
+        Map<String, Duration> localTtls = new HashMap<>();
+        // 用户中心服务相关缓存
+        localTtls.put(CacheNameConstants.UserCenter.USER_AUTHORITY, Duration.ofSeconds(CacheTtlConstants.SHORT_SECONDS));
+        // 基础数据服务相关缓存
+        localTtls.put(CacheNameConstants.Base.DICT_DATA, Duration.ofSeconds(CacheTtlConstants.MEDIUM_SECONDS));
+        return localTtls;
+    }
+
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory, boolean transactionAware) {
         ObjectMapper objectMapper = JacksonObjectMapperUtils.createRedisObjectMapper();
         GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
         // 默认缓存配置：1小时TTL，使用JSON序列化
@@ -45,15 +99,30 @@ public class RedisManagerBuilder {
                 .disableCachingNullValues(); // 不缓存null值
         // 按cacheName配置不同的TTL
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        // 用户中心服务相关缓存
+        // 用户中心服务相关缓存（其他服务通过 RedisUtils 直接读取，保持 JSON 格式）
         cacheConfigurations.put(CacheNameConstants.UserCenter.USER_AUTHORITY, defaultConfig);
-        // 基础数据服务相关缓存
-        cacheConfigurations.put(CacheNameConstants.Base.DICT_DATA, defaultConfig.entryTtl(Duration.ofSeconds(CacheTtlConstants.VERY_LONG_SECONDS)));
-        return RedisCacheManager.builder(Objects.requireNonNull(connectionFactory))
+        // 基础数据服务相关缓存（只经由 Spring Cache 读写，使用 Smile 二进制格式）
+        cacheConfigurations.put(CacheNameConstants.Base.DICT_DATA, defaultConfig.entryTtl(Duration.ofSeconds(CacheTtlConstants.VERY_LONG_SECONDS))
+                .serializeValuesWith(valueSerializationPair(CacheValueFormat.SMILE, jsonSerializer)));
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(Objects.requireNonNull(connectionFactory))
                 .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(cacheConfigurations)
-                .transactionAware() // 支持事务
-                .build();
+                .withInitialCacheConfigurations(cacheConfigurations);
+        if (transactionAware) {
+            builder.transactionAware(); // 支持事务
+        }
+        return builder.build();
     }
-}
 
+    /**
+     * 按格式创建缓存值序列化方式
+     * SMILE 格式超过 {@link #COMPRESS_THRESHOLD_BYTES} 时压缩，并兼容读取旧的 JSON 数据
+     */
+    private RedisSerializationContext.SerializationPair<Object> valueSerializationPair(CacheValueFormat format,
+                                                                                      GenericJackson2JsonRedisSerializer jsonSerializer) {
+        RedisSerializer<Object> serializer = switch (format) {
+            case SMILE -> new SmileRedisSerializer(jsonSerializer, COMPRESS_THRESHOLD_BYTES);
+            case JSON -> jsonSerializer;
+        };
+        return RedisSerializationContext.SerializationPair.fromSerializer(serializer);
+    }
+}
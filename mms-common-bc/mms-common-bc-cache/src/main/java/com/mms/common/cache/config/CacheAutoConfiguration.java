@@ -3,7 +3,12 @@ package com.mms.common.cache.config;
 import com.mms.common.cache.builder.KeyGeneratorBuilder;
 import com.mms.common.cache.builder.RedisManagerBuilder;
 import com.mms.common.cache.builder.RedisTemplateBuilder;
+import com.mms.common.cache.manager.NearCacheManager;
+import com.mms.common.cache.properties.NearCacheProperties;
+import com.mms.common.cache.properties.SingleFlightProperties;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
@@ -11,6 +16,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * 实现功能【缓存模块自动装配配置】
@@ -18,7 +25,7 @@ import org.springframework.data.redis.core.RedisTemplate;
  * 提供以下功能：
  * 1. RedisTemplate：Redis操作模板
  * 2. KeyGenerator：统一的缓存Key生成器
- * 3. CacheManager：Spring Cache缓存管理器（支持注解缓存）
+ * 3. CacheManager：Spring Cache缓存管理器（支持注解缓存，可选本地近端缓存）
  * </p>
  *
  * @author li.hongyu
@@ -26,6 +33,7 @@ import org.springframework.data.redis.core.RedisTemplate;
  */
 @EnableCaching
 @Configuration
+@EnableConfigurationProperties({NearCacheProperties.class, SingleFlightProperties.class})
 public class CacheAutoConfiguration {
 
     private final KeyGeneratorBuilder keyGeneratorBuilder = new KeyGeneratorBuilder();
@@ -44,8 +52,24 @@ public class CacheAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        return new RedisManagerBuilder().cacheManager(connectionFactory);
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, NearCacheProperties nearCacheProperties,
+                                     SingleFlightProperties singleFlightProperties) {
+        return new RedisManagerBuilder().cacheManager(connectionFactory, nearCacheProperties, singleFlightProperties);
+    }
+
+    /**
+     * 创建 本地缓存失效广播监听容器 Bean
+     * 仅在开启本地近端缓存时创建
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.near", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer nearCacheEvictListenerContainer(RedisConnectionFactory connectionFactory, CacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (cacheManager instanceof NearCacheManager nearCacheManager) {
+            container.addMessageListener(nearCacheManager, new ChannelTopic(NearCacheManager.EVICT_CHANNEL));
+        }
+        return container;
     }
 
     /**
@@ -0,0 +1,220 @@
+package com.mms.common.cache.manager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实现功能【两级缓存：本地 Caffeine（L1）+ Redis（L2）】
+ * <p>
+ * 读：先查 L1，未命中再查 Redis 并回填 L1；
+ * 写：写 Redis 后更新 L1；
+ * 删/清空：删 Redis 后失效 L1，并通过 {@link NearCacheManager} 广播给其他节点失效各自的 L1。
+ * L1 中的对象会被多个调用方共享，调用方应将缓存值视为只读。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 19:04:16
+ */
+public class NearCache implements Cache {
+
+    private final Cache redisCache;
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+
+    private final NearCacheManager cacheManager;
+
+    /**
+     * 进行中的回填（本地 key → 回填令牌）：失效时移除对应 key 的令牌，回填时令牌已不在则丢弃结果，
+     * 用于丢弃“读取 Redis 期间已被失效”的回填；只影响同一 key，条目在读取结束时移除
+     */
+    private final ConcurrentHashMap<String, Object> pendingFills = new ConcurrentHashMap<>();
+
+    NearCache(Cache redisCache, Duration localTtl, long maximumSize, NearCacheManager cacheManager) {
+        this.redisCache = redisCache;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return redisCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    /**
+     * 获取本地缓存（用于指标绑定）
+     */
+    public com.github.benmanes.caffeine.cache.Cache<String, Object> getLocalCache() {
+        return localCache;
+    }
+
+    /**
+     * 获取 Redis 缓存
+     */
+    public Cache getRedisCache() {
+        return redisCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            return new SimpleValueWrapper(local);
+        }
+        Object token = registerFill(localKey);
+        try {
+            ValueWrapper wrapper = redisCache.get(key);
+            if (wrapper != null) {
+                fillLocal(localKey, wrapper.get(), token);
+            }
+            return wrapper;
+        } finally {
+            pendingFills.remove(localKey, token);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            return (T) local;
+        }
+        Object token = registerFill(localKey);
+        try {
+            T value = redisCache.get(key, valueLoader);
+            fillLocal(localKey, value, token);
+            return value;
+        } finally {
+            pendingFills.remove(localKey, token);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        redisCache.put(key, value);
+        String localKey = localKey(key);
+        // 写入的是最新值，作废该 key 进行中的回填，避免其用更早读到的值覆盖
+        pendingFills.remove(localKey);
+        if (value != null) {
+            localCache.put(localKey, value);
+        } else {
+            localCache.invalidate(localKey);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = redisCache.putIfAbsent(key, value);
+        // 无论是否写入，以 Redis 中的值为准，本地直接失效
+        invalidateLocal(localKey(key));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCache.evict(key);
+        String localKey = localKey(key);
+        invalidateLocal(localKey);
+        cacheManager.publishEvict(getName(), localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = redisCache.evictIfPresent(key);
+        String localKey = localKey(key);
+        invalidateLocal(localKey);
+        cacheManager.publishEvict(getName(), localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        invalidateLocalAll();
+        cacheManager.publishEvict(getName(), null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = redisCache.invalidate();
+        invalidateLocalAll();
+        cacheManager.publishEvict(getName(), null);
+        return invalidated;
+    }
+
+    /**
+     * 仅失效本地条目（收到其他节点的广播时调用）
+     */
+    void invalidateLocal(String localKey) {
+        // 先移除令牌再失效条目，与 fillLocal 在令牌桶锁内的写入严格串行
+        pendingFills.remove(localKey);
+        localCache.invalidate(localKey);
+    }
+
+    /**
+     * 仅清空本地缓存（收到其他节点的广播时调用）
+     */
+    void invalidateLocalAll() {
+        pendingFills.clear();
+        localCache.invalidateAll();
+    }
+
+    /**
+     * 登记一次回填，同一 key 的后一次登记会作废前一次
+     */
+    private Object registerFill(String localKey) {
+        Object token = new Object();
+        pendingFills.put(localKey, token);
+        return token;
+    }
+
+    /**
+     * 仅当该 key 的回填令牌仍有效时写入本地缓存（写入在令牌所在桶的锁内完成）
+     */
+    private void fillLocal(String localKey, Object value, Object token) {
+        if (value == null) {
+            return;
+        }
+        pendingFills.computeIfPresent(localKey, (k, current) -> {
+            if (current != token) {
+                return current;
+            }
+            localCache.put(localKey, value);
+            return null;
+        });
+    }
+
+    /**
+     * 与 RedisCache 一致按字符串形式区分 key，便于跨节点广播
+     */
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
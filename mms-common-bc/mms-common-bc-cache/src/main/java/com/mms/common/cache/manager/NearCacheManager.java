@@ -0,0 +1,210 @@
+package com.mms.common.cache.manager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mms.common.cache.properties.SingleFlightProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 实现功能【两级缓存管理器】
+ * <p>
+ * 包装 RedisCacheManager：在 localTtls 中配置了本地存活时间的缓存名返回 {@link NearCache}（L1 + Redis），
+ * 其余缓存名直接返回 Redis 缓存；开启合并回源时 Redis 缓存外再包一层 {@link SingleFlightCache}。
+ * 删除/清空时在 {@link #EVICT_CHANNEL} 广播，其他节点收到后失效各自的 L1（写入不广播，@Cacheable 回填无需通知）；
+ * 本地存活时间作为广播丢失时的兜底。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 19:12:50
+ */
+@Slf4j
+public class NearCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    /**
+     * 本地缓存失效广播频道
+     */
+    public static final String EVICT_CHANNEL = "mms:cache:near-cache-evict";
+
+    private static final ObjectMapper MESSAGE_MAPPER = new ObjectMapper();
+
+    /**
+     * 批量失效不超过该数量时逐 key 广播（管道一次往返），超过时广播一次清空
+     */
+    private static final int EVICT_KEYS_BROADCAST_THRESHOLD = 100;
+
+    /**
+     * 当前节点标识，用于忽略自己发出的广播
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheManager redisCacheManager;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Map<String, Duration> localTtls;
+
+    private final long maximumSize;
+
+    private final SingleFlightProperties singleFlightProperties;
+
+    public NearCacheManager(CacheManager redisCacheManager, StringRedisTemplate stringRedisTemplate,
+                            Map<String, Duration> localTtls, long maximumSize,
+                            SingleFlightProperties singleFlightProperties) {
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.localTtls = Map.copyOf(localTtls);
+        this.maximumSize = maximumSize;
+        this.singleFlightProperties = singleFlightProperties;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache redisCache = redisCacheManager.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+        if (singleFlightProperties.isEnabled()) {
+            redisCache = new SingleFlightCache(redisCache, stringRedisTemplate, singleFlightProperties);
+        }
+        Duration localTtl = localTtls.get(name);
+        if (localTtl == null) {
+            return redisCache;
+        }
+        return new NearCache(redisCache, localTtl, maximumSize, this);
+    }
+
+    /**
+     * 批量失效本地缓存（调用方已直接删除 Redis 中的对应条目时使用）
+     * 本节点按 key 失效；key 不多时以管道逐 key 广播，其他节点只失效这些 key，
+     * 超过 {@link #EVICT_KEYS_BROADCAST_THRESHOLD} 时只发一条广播清空该缓存名的 L1
+     *
+     * @param cacheName 缓存名
+     * @param keys      缓存 key 集合
+     */
+    public void evictLocal(String cacheName, Collection<?> keys) {
+        if (!localTtls.containsKey(cacheName) || keys == null || keys.isEmpty()) {
+            return;
+        }
+        // 本节点尚未创建该缓存时没有 L1 条目，但其他节点可能有，仍需广播
+        NearCache nearCache = findNearCache(cacheName);
+        List<String> localKeys = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            localKeys.add(String.valueOf(key));
+        }
+        if (nearCache != null) {
+            localKeys.forEach(nearCache::invalidateLocal);
+        }
+        if (localKeys.size() > EVICT_KEYS_BROADCAST_THRESHOLD) {
+            publishEvict(cacheName, null);
+        } else {
+            publishEvicts(cacheName, localKeys);
+        }
+    }
+
+    /**
+     * 以管道方式逐 key 广播本地缓存失效
+     */
+    private void publishEvicts(String cacheName, List<String> keys) {
+        try {
+            List<String> messages = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                messages.add(MESSAGE_MAPPER.writeValueAsString(new EvictMessage(nodeId, cacheName, key)));
+            }
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    messages.forEach(message -> operations.convertAndSend(EVICT_CHANNEL, message));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // 逐 key 广播失败时退回清空广播
+            log.warn("本地缓存批量失效广播失败，改为清空广播, cacheName: {}, 原因: {}", cacheName, e.getMessage());
+            publishEvict(cacheName, null);
+        }
+    }
+
+    /**
+     * 广播本地缓存失效
+     *
+     * @param cacheName 缓存名
+     * @param key       缓存 key，为 null 表示清空整个缓存
+     */
+    void publishEvict(String cacheName, String key) {
+        try {
+            String message = MESSAGE_MAPPER.writeValueAsString(new EvictMessage(nodeId, cacheName, key));
+            stringRedisTemplate.convertAndSend(EVICT_CHANNEL, message);
+        } catch (Exception e) {
+            // 广播失败不影响主流程，其他节点依赖本地存活时间兜底
+            log.warn("本地缓存失效广播失败, cacheName: {}, key: {}, 原因: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * 处理其他节点的失效广播
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        EvictMessage evictMessage;
+        try {
+            evictMessage = MESSAGE_MAPPER.readValue(message.getBody(), EvictMessage.class);
+        } catch (Exception e) {
+            log.warn("本地缓存失效广播解析失败: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(evictMessage.nodeId())) {
+            return;
+        }
+        NearCache nearCache = findNearCache(evictMessage.cacheName());
+        if (nearCache == null) {
+            return;
+        }
+        if (evictMessage.key() == null) {
+            nearCache.invalidateLocalAll();
+        } else {
+            nearCache.invalidateLocal(evictMessage.key());
+        }
+    }
+
+    /**
+     * 查找已创建的两级缓存（透过事务装饰器）
+     */
+    private NearCache findNearCache(String cacheName) {
+        Cache cache = lookupCache(cacheName);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return cache instanceof NearCache nearCache ? nearCache : null;
+    }
+
+    /**
+     * 失效广播消息
+     *
+     * @param nodeId    发送节点
+     * @param cacheName 缓存名
+     * @param key       缓存 key，为 null 表示清空
+     */
+    record EvictMessage(String nodeId, String cacheName, String key) {
+    }
+}
@@ -0,0 +1,281 @@
+package com.mms.common.cache.manager;
+
+import com.mms.common.cache.properties.SingleFlightProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实现功能【合并回源缓存装饰器】
+ * <p>
+ * 包装 Redis 缓存，作用于 get(key, valueLoader)（即 @Cacheable(sync = true)）：
+ * 1. 本节点同一 key 的并发未命中共享一次回源，其余线程等待其结果（替代 RedisCache 整个缓存共用一把锁）；
+ * 2. 可选跨节点租约：回源前 SET NX 抢占租约，未抢到的节点轮询等待回填，超时后自行回源；
+ * 3. 可选概率提前刷新（XFetch）：命中时按 -回源耗时 × beta × ln(rand) ≥ 剩余 TTL 的概率提前回源，
+ * 越接近过期越可能刷新，热点 key 不会在同一时刻集体失效；刷新进行中时其他请求直接返回旧值。
+ * 剩余 TTL 按 RedisManagerBuilder 的 key 规则（cacheName + key）查询。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 19:52:33
+ */
+@Slf4j
+public class SingleFlightCache implements Cache {
+
+    /**
+     * 跨节点租约 key 前缀
+     */
+    public static final String LEASE_PREFIX = "mms:cache:lease:";
+
+    /**
+     * 仅在租约仍属于自己时删除
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    /**
+     * 尚无回源耗时样本时使用的估计值（50 毫秒）
+     */
+    private static final long DEFAULT_LOAD_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Cache delegate;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final SingleFlightProperties properties;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 回源耗时的指数移动平均（纳秒）
+     */
+    private volatile long loadNanos = DEFAULT_LOAD_NANOS;
+
+    SingleFlightCache(Cache delegate, StringRedisTemplate stringRedisTemplate, SingleFlightProperties properties) {
+        this.delegate = delegate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String flightKey = String.valueOf(key);
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            if (!shouldRefreshEarly(flightKey)) {
+                return (T) cached.get();
+            }
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            if (inFlight.putIfAbsent(flightKey, flight) != null) {
+                // 已有线程在刷新，直接返回旧值
+                return (T) cached.get();
+            }
+            return (T) fly(key, flightKey, valueLoader, flight, cached.get());
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            return (T) await(existing, key, valueLoader);
+        }
+        return (T) fly(key, flightKey, valueLoader, flight, null);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    /**
+     * 由当前线程回源，并把结果交给等待的线程
+     */
+    private Object fly(Object key, String flightKey, Callable<?> valueLoader, CompletableFuture<Object> flight, Object staleValue) {
+        try {
+            Object value = loadWithLease(key, flightKey, valueLoader, staleValue);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * 等待同节点其他线程的回源结果
+     */
+    private Object await(CompletableFuture<Object> flight, Object key, Callable<?> valueLoader) {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ValueRetrievalException(key, valueLoader, cause);
+        }
+    }
+
+    /**
+     * 抢占跨节点租约后回源；未抢到时提前刷新直接返回旧值，首次加载则等待其他节点回填
+     */
+    private Object loadWithLease(Object key, String flightKey, Callable<?> valueLoader, Object staleValue) {
+        SingleFlightProperties.Lease lease = properties.getLease();
+        if (!lease.isEnabled()) {
+            return loadAndPut(key, valueLoader);
+        }
+        String leaseKey = LEASE_PREFIX + getName() + flightKey;
+        String token = UUID.randomUUID().toString();
+        Boolean acquired;
+        try {
+            acquired = stringRedisTemplate.opsForValue().setIfAbsent(leaseKey, token, lease.getTimeout());
+        } catch (Exception e) {
+            log.warn("缓存回源租约获取失败，直接回源, key: {}, 原因: {}", leaseKey, e.getMessage());
+            return loadAndPut(key, valueLoader);
+        }
+        if (Boolean.TRUE.equals(acquired)) {
+            try {
+                return loadAndPut(key, valueLoader);
+            } finally {
+                releaseLease(leaseKey, token);
+            }
+        }
+        if (staleValue != null) {
+            return staleValue;
+        }
+        ValueWrapper filled = waitForFill(key, lease);
+        return filled != null ? filled.get() : loadAndPut(key, valueLoader);
+    }
+
+    /**
+     * 轮询等待持有租约的节点回填
+     */
+    private ValueWrapper waitForFill(Object key, SingleFlightProperties.Lease lease) {
+        long deadline = System.nanoTime() + lease.getWaitTime().toNanos();
+        long pollMillis = Math.max(1L, lease.getPollInterval().toMillis());
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ValueWrapper filled = delegate.get(key);
+            if (filled != null) {
+                return filled;
+            }
+        }
+        return null;
+    }
+
+    private void releaseLease(String leaseKey, String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token);
+        } catch (Exception e) {
+            // 释放失败时等待租约自然过期
+            log.warn("缓存回源租约释放失败, key: {}, 原因: {}", leaseKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 回源并写入缓存（null 不缓存）
+     */
+    private Object loadAndPut(Object key, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        long elapsed = System.nanoTime() - start;
+        loadNanos = (loadNanos * 7 + elapsed) / 8;
+        if (value != null) {
+            delegate.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * XFetch：-delta × beta × ln(rand) ≥ 剩余 TTL 时提前刷新
+     */
+    private boolean shouldRefreshEarly(String flightKey) {
+        SingleFlightProperties.EarlyRefresh earlyRefresh = properties.getEarlyRefresh();
+        if (!earlyRefresh.isEnabled()) {
+            return false;
+        }
+        Long ttlMillis;
+        try {
+            ttlMillis = stringRedisTemplate.getExpire(getName() + flightKey, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            return false;
+        }
+        if (ttlMillis == null || ttlMillis <= 0) {
+            return false;
+        }
+        double deltaMillis = loadNanos / 1_000_000.0;
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return -deltaMillis * earlyRefresh.getBeta() * Math.log(random) >= ttlMillis;
+    }
+}
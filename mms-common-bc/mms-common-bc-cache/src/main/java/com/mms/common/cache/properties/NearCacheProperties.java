@@ -0,0 +1,28 @@
+package com.mms.common.cache.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 实现功能【本地近端缓存（L1）配置属性】
+ * <p>
+ * 各缓存名的本地存活时间在 RedisManagerBuilder 中按 CacheTtlConstants 约定
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 18:58:31
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.near")
+public class NearCacheProperties {
+
+    /**
+     * 是否在 Redis 缓存前启用本地缓存，默认开启
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每个缓存名的本地最大条目数，默认 10000
+     */
+    private long maximumSize = 10_000L;
+}
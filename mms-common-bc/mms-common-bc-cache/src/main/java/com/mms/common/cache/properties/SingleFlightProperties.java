@@ -0,0 +1,74 @@
+package com.mms.common.cache.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【缓存合并回源配置属性】
+ * <p>
+ * 作用于 @Cacheable(sync = true) 的缓存：同一节点同一 key 的并发未命中只回源一次，
+ * 可选通过 Redis 租约扩展到跨节点，以及按概率提前刷新以错开集中过期
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 19:41:07
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.single-flight")
+public class SingleFlightProperties {
+
+    /**
+     * 是否开启本节点合并回源，默认开启
+     */
+    private boolean enabled = true;
+
+    /**
+     * 跨节点租约配置
+     */
+    private Lease lease = new Lease();
+
+    /**
+     * 概率提前刷新配置
+     */
+    private EarlyRefresh earlyRefresh = new EarlyRefresh();
+
+    @Data
+    public static class Lease {
+
+        /**
+         * 是否开启跨节点租约，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 租约有效期（应大于回源耗时），默认 10 秒
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        /**
+         * 未拿到租约时最多等待其他节点回填的时间，超时后自行回源，默认 3 秒
+         */
+        private Duration waitTime = Duration.ofSeconds(3);
+
+        /**
+         * 等待期间轮询缓存的间隔，默认 50 毫秒
+         */
+        private Duration pollInterval = Duration.ofMillis(50);
+    }
+
+    @Data
+    public static class EarlyRefresh {
+
+        /**
+         * 是否开启概率提前刷新，默认关闭（开启后 Redis 命中时额外查询一次剩余 TTL）
+         */
+        private boolean enabled = false;
+
+        /**
+         * 提前程度系数，越大越早刷新，默认 1.0
+         */
+        private double beta = 1.0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.mms.common.cache.serializer;
+
+/**
+ * 实现功能【缓存值序列化格式】
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 20:18:42
+ */
+public enum CacheValueFormat {
+
+    /**
+     * JSON（GenericJackson2Json，带 @class 类型信息，可读、可被 RedisUtils 直接读取）
+     */
+    JSON,
+
+    /**
+     * Smile 二进制 JSON（类型信息与字段名以反向引用共享，体积更小、解码更快），可选压缩
+     */
+    SMILE
+}
@@ -3,10 +3,19 @@ package com.mms.common.cache.utils;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mms.common.core.utils.JacksonObjectMapperUtils;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * 实现功能【Redis操作工具类】
@@ -81,15 +90,7 @@ public class RedisUtils {
         if (!StringUtils.hasText(key)) {
             return null;
         }
-        Object value = redisTemplate.opsForValue().get(key);
-        if (value == null) {
-            return null;
-        }
-        if (clazz.isInstance(value)) {
-            return clazz.cast(value);
-        }
-        // 兜底：Redis 反序列化可能得到 LinkedHashMap（未携带类型信息时）
-        return OBJECT_MAPPER.convertValue(value, clazz);
+        return convert(redisTemplate.opsForValue().get(key), clazz);
     }
 
     /**
@@ -176,6 +177,148 @@ public class RedisUtils {
         return redisTemplate.getExpire(key, TimeUnit.SECONDS);
     }
 
+    /**
+     * 发布消息（Pub/Sub）
+     *
+     * @param channel 频道
+     * @param message 消息（按 value 序列化方式发送）
+     */
+    public static void publish(String channel, Object message) {
+        if (!StringUtils.hasText(channel) || message == null) {
+            return;
+        }
+        redisTemplate.convertAndSend(channel, message);
+    }
+
+    /**
+     * 执行 Lua 脚本（优先 EVALSHA，脚本未加载时自动回退 EVAL）
+     * <p>
+     * 脚本对象应定义为常量复用，SHA1 只计算一次；参数按 value 序列化方式传递
+     * </p>
+     *
+     * @param script 脚本
+     * @param keys   KEYS
+     * @param args   ARGV
+     * @param <T>    返回值类型
+     * @return 脚本返回值
+     */
+    public static <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        return redisTemplate.execute(script, keys, args);
+    }
+
+    // ==================== 批量操作 ====================
+
+    /**
+     * 批量获取缓存（MGET，一次往返）
+     *
+     * @param keys  键集合
+     * @param clazz 类型
+     * @param <T>   泛型
+     * @return 键到值的映射（按传入顺序，不存在的键不包含在内）
+     */
+    public static <T> Map<String, T> multiGet(Collection<String> keys, Class<T> clazz) {
+        List<String> validKeys = validKeys(keys);
+        if (validKeys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(validKeys);
+        Map<String, T> result = new LinkedHashMap<>(validKeys.size() * 2);
+        if (values == null) {
+            return result;
+        }
+        for (int i = 0; i < validKeys.size(); i++) {
+            T value = convert(values.get(i), clazz);
+            if (value != null) {
+                result.put(validKeys.get(i), value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量设置缓存（MSET，一次往返）
+     *
+     * @param values 键值映射（空键或空值会被忽略）
+     */
+    public static void multiSet(Map<String, ?> values) {
+        Map<String, Object> validValues = validValues(values);
+        if (validValues.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForValue().multiSet(validValues);
+    }
+
+    /**
+     * 批量设置缓存（带过期时间，管道方式一次往返）
+     *
+     * @param values   键值映射（空键或空值会被忽略）
+     * @param timeout  过期时间
+     * @param timeUnit 时间单位
+     */
+    public static void multiSet(Map<String, ?> values, long timeout, TimeUnit timeUnit) {
+        Map<String, Object> validValues = validValues(values);
+        if (validValues.isEmpty()) {
+            return;
+        }
+        executePipelined(operations -> validValues.forEach((key, value) ->
+                operations.opsForValue().set(key, value, timeout, timeUnit)));
+    }
+
+    /**
+     * 批量删除缓存（DEL 多键，一次往返）
+     *
+     * @param keys 键集合
+     * @return 删除的数量
+     */
+    public static Long multiDelete(Collection<String> keys) {
+        List<String> validKeys = validKeys(keys);
+        if (validKeys.isEmpty()) {
+            return 0L;
+        }
+        Long deleted = redisTemplate.delete(validKeys);
+        return deleted != null ? deleted : 0L;
+    }
+
+    /**
+     * 批量判断key是否存在（管道方式一次往返）
+     *
+     * @param keys 键集合
+     * @return 键到是否存在的映射（按传入顺序）
+     */
+    public static Map<String, Boolean> multiExists(Collection<String> keys) {
+        List<String> validKeys = validKeys(keys);
+        if (validKeys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Object> results = executePipelined(operations -> validKeys.forEach(operations::hasKey));
+        Map<String, Boolean> result = new LinkedHashMap<>(validKeys.size() * 2);
+        for (int i = 0; i < validKeys.size(); i++) {
+            result.put(validKeys.get(i), Boolean.TRUE.equals(results.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * 以管道方式执行一组命令（一次往返）
+     * <p>
+     * 回调中的命令不会立即返回结果（返回值均为 null），结果按命令顺序在本方法返回值中给出，
+     * 已按 RedisTemplate 的序列化方式反序列化
+     * </p>
+     *
+     * @param action 在管道中执行的命令
+     * @return 各命令的结果
+     */
+    public static List<Object> executePipelined(Consumer<RedisOperations<String, Object>> action) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                action.accept((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+    }
+
     // ==================== 自增自减操作 ====================
 
     /**
@@ -316,4 +459,49 @@ public class RedisUtils {
     public static Long hDecrement(String key, String field, long delta) {
         return hIncrement(key, field, -delta);
     }
-}
+
+    // ==================== 内部方法 ====================
+
+    /**
+     * 值类型转换
+     */
+    private static <T> T convert(Object value, Class<T> clazz) {
+        if (value == null) {
+            return null;
+        }
+        if (clazz.isInstance(value)) {
+            return clazz.cast(value);
+        }
+        // 兜底：Redis 反序列化可能得到 LinkedHashMap（未携带类型信息时）
+        return OBJECT_MAPPER.convertValue(value, clazz);
+    }
+
+    /**
+     * 过滤空键并去重（保持顺序）
+     */
+    private static List<String> validKeys(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return keys.stream()
+                .filter(StringUtils::hasText)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * 过滤空键与空值
+     */
+    private static Map<String, Object> validValues(Map<String, ?> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> result = new LinkedHashMap<>(values.size() * 2);
+        values.forEach((key, value) -> {
+            if (StringUtils.hasText(key) && value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+}
\ No newline at end of file
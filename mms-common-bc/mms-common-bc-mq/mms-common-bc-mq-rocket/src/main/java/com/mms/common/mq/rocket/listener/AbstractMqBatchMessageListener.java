@@ -0,0 +1,270 @@
+package com.mms.common.mq.rocket.listener;
+
+import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.common.mq.api.exception.MqConsumeException;
+import com.mms.common.mq.api.message.MqMessage;
+import com.mms.common.mq.rocket.properties.MmsMqProperties;
+import com.mms.common.mq.rocket.support.MqMessageSerializer;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.client.consumer.DefaultMQPushConsumer;
+import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyStatus;
+import org.apache.rocketmq.client.consumer.listener.MessageListenerConcurrently;
+import org.apache.rocketmq.common.message.MessageExt;
+import org.apache.rocketmq.spring.core.RocketMQListener;
+import org.apache.rocketmq.spring.core.RocketMQPushConsumerLifecycleListener;
+import org.slf4j.MDC;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 实现功能【MQ 消息批量监听抽象基类】
+ * <p>
+ * 在消费者启动前替换 rocketmq-spring 默认的逐条监听：
+ * 1. 每次拉取回调最多投递 mms.mq.batch.max-size 条消息；
+ * 2. 多个消费线程的消息汇总到同一缓冲区，攒够 max-size 条或等待超过 max-wait 时合并为一批交给 {@link #handleBatch(List)}；
+ * 3. 消费线程等待所在批次处理完成后才返回，批次成功才确认位点，失败则整批稍后重投（子类需保证幂等）。
+ * 无法反序列化的消息记录日志后跳过，避免毒消息阻塞整批。
+ * 逐条接收与批次失败时按消息写入 TraceId 到 MDC 并记录 eventType/messageKey，便于与发起请求关联。
+ * 子类实现 {@link #payloadType()} 与 {@link #handleBatch(List)} 即可。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 23:08:27
+ */
+@Slf4j
+public abstract class AbstractMqBatchMessageListener<T> implements RocketMQListener<String>, RocketMQPushConsumerLifecycleListener {
+
+    /**
+     * RocketMQ 单次回调的消息数上限
+     */
+    private static final int MAX_CONSUME_BATCH_SIZE = 1024;
+
+    @Resource
+    private MqMessageSerializer mqMessageSerializer;
+
+    @Resource
+    private MmsMqProperties mmsMqProperties;
+
+    private final Object lock = new Object();
+
+    /**
+     * 待处理的回调（每个回调对应一个消费线程）
+     */
+    private List<PendingBatch<T>> buffer = new ArrayList<>();
+
+    /**
+     * 缓冲区中的消息总数
+     */
+    private int bufferedCount;
+
+    /**
+     * 业务载荷类型
+     */
+    protected abstract Class<T> payloadType();
+
+    /**
+     * 处理一批已解析的消息信封，抛出异常时整批重投
+     */
+    protected abstract void handleBatch(List<MqMessage<T>> messages);
+
+    /**
+     * 替换默认的逐条监听为批量监听
+     */
+    @Override
+    public void prepareStart(DefaultMQPushConsumer consumer) {
+        int maxSize = Math.min(MAX_CONSUME_BATCH_SIZE, Math.max(1, mmsMqProperties.getBatch().getMaxSize()));
+        consumer.setConsumeMessageBatchMaxSize(maxSize);
+        consumer.setPullBatchSize(Math.max(consumer.getPullBatchSize(), maxSize));
+        consumer.registerMessageListener((MessageListenerConcurrently) (messages, context) -> consume(messages));
+    }
+
+    /**
+     * 未经 prepareStart 替换时的逐条入口，按单条批次处理
+     */
+    @Override
+    public void onMessage(String rawMessage) {
+        MqMessage<T> message = null;
+        try {
+            message = mqMessageSerializer.deserialize(rawMessage, payloadType());
+            applyTraceId(message);
+            log.info("收到 MQ 消息 eventType={}, messageKey={}", message.getEventType(), message.getMessageKey());
+            handleBatch(List.of(message));
+        } catch (MqConsumeException ex) {
+            log.error("MQ 消息消费失败（解析/业务） eventType={}, messageKey={}", safeEventType(message), safeMessageKey(message), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("MQ 消息消费失败 eventType={}, messageKey={}", safeEventType(message), safeMessageKey(message), ex);
+            throw new MqConsumeException("MQ 消息消费失败", ex);
+        } finally {
+            MDC.remove(GatewayConstants.Mdc.TRACE_ID);
+        }
+    }
+
+    /**
+     * 处理一次拉取回调
+     */
+    private ConsumeConcurrentlyStatus consume(List<MessageExt> rawMessages) {
+        List<MqMessage<T>> messages = new ArrayList<>(rawMessages.size());
+        for (MessageExt rawMessage : rawMessages) {
+            try {
+                MqMessage<T> message = mqMessageSerializer.deserialize(new String(rawMessage.getBody(), StandardCharsets.UTF_8), payloadType());
+                // 在日志里面放入 traceId，便于与发起请求关联
+                applyTraceId(message);
+                log.info("收到 MQ 消息 eventType={}, messageKey={}", message.getEventType(), message.getMessageKey());
+                messages.add(message);
+            } catch (Exception ex) {
+                log.error("MQ 消息反序列化失败，已跳过 msgId={}, keys={}", rawMessage.getMsgId(), rawMessage.getKeys(), ex);
+            } finally {
+                MDC.remove(GatewayConstants.Mdc.TRACE_ID);
+            }
+        }
+        if (messages.isEmpty()) {
+            return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+        }
+        PendingBatch<T> pending = new PendingBatch<>(messages);
+        List<PendingBatch<T>> ready = enqueue(pending);
+        if (ready != null) {
+            flush(ready);
+        }
+        try {
+            awaitFlushed(pending);
+            return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        } catch (Exception ex) {
+            log.error("MQ 消息批量消费失败，稍后重投 size={}, messageKeys={}", messages.size(), messageKeys(messages), ex);
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        }
+    }
+
+    /**
+     * 放入缓冲区，攒够一批时取出整个缓冲区交给当前线程处理
+     */
+    private List<PendingBatch<T>> enqueue(PendingBatch<T> pending) {
+        synchronized (lock) {
+            buffer.add(pending);
+            bufferedCount += pending.messages.size();
+            if (bufferedCount < mmsMqProperties.getBatch().getMaxSize()) {
+                return null;
+            }
+            return takeBuffer();
+        }
+    }
+
+    /**
+     * 等待所在批次处理完成；超过 max-wait 仍未被处理时由当前线程处理缓冲区
+     */
+    private void awaitFlushed(PendingBatch<T> pending) throws Exception {
+        try {
+            pending.result.get(mmsMqProperties.getBatch().getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+            return;
+        } catch (TimeoutException ex) {
+            List<PendingBatch<T>> ready = null;
+            synchronized (lock) {
+                // 仍在缓冲区说明没有其他线程接手
+                if (buffer.contains(pending)) {
+                    ready = takeBuffer();
+                }
+            }
+            if (ready != null) {
+                flush(ready);
+            }
+        }
+        try {
+            pending.result.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof Exception cause ? cause : ex;
+        }
+    }
+
+    private List<PendingBatch<T>> takeBuffer() {
+        List<PendingBatch<T>> ready = buffer;
+        buffer = new ArrayList<>();
+        bufferedCount = 0;
+        return ready;
+    }
+
+    /**
+     * 合并处理若干回调的消息，并通知对应的消费线程
+     */
+    private void flush(List<PendingBatch<T>> ready) {
+        List<MqMessage<T>> messages = new ArrayList<>();
+        for (PendingBatch<T> pending : ready) {
+            messages.addAll(pending.messages);
+        }
+        try {
+            handleBatch(messages);
+            log.info("MQ 消息批量消费完成 size={}", messages.size());
+            ready.forEach(pending -> pending.result.complete(null));
+        } catch (Throwable ex) {
+            logFailedBatch(messages, ex);
+            ready.forEach(pending -> pending.result.completeExceptionally(ex));
+        }
+    }
+
+    /**
+     * 记录失败批次：整批的业务键与异常，以及逐条带 traceId 的消费失败日志
+     */
+    private void logFailedBatch(List<MqMessage<T>> messages, Throwable ex) {
+        log.error("MQ 消息批量处理失败 size={}, messageKeys={}", messages.size(), messageKeys(messages), ex);
+        for (MqMessage<T> message : messages) {
+            try {
+                applyTraceId(message);
+                log.error("MQ 消息消费失败 eventType={}, messageKey={}, 原因: {}", message.getEventType(), message.getMessageKey(), ex.getMessage());
+            } finally {
+                MDC.remove(GatewayConstants.Mdc.TRACE_ID);
+            }
+        }
+    }
+
+    private List<String> messageKeys(List<MqMessage<T>> messages) {
+        return messages.stream().map(MqMessage::getMessageKey).toList();
+    }
+
+    /**
+     * 在日志里面放入 traceId
+     */
+    private void applyTraceId(MqMessage<T> message) {
+        if (message == null || !StringUtils.hasText(message.getTraceId())) {
+            return;
+        }
+        MDC.put(GatewayConstants.Mdc.TRACE_ID, message.getTraceId());
+    }
+
+    /**
+     * 安全获取消息的事件类型
+     */
+    private String safeEventType(MqMessage<T> message) {
+        return message == null ? null : message.getEventType();
+    }
+
+    /**
+     * 安全获取消息业务键
+     */
+    private String safeMessageKey(MqMessage<T> message) {
+        return message == null ? null : message.getMessageKey();
+    }
+
+    /**
+     * 一次拉取回调中的消息及其处理结果
+     */
+    private static final class PendingBatch<T> {
+
+        private final List<MqMessage<T>> messages;
+
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private PendingBatch(List<MqMessage<T>> messages) {
+            this.messages = messages;
+        }
+    }
+}
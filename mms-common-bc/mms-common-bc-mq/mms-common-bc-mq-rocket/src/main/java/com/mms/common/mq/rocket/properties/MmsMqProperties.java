@@ -3,6 +3,8 @@ package com.mms.common.mq.rocket.properties;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * 实现功能【MMS 消息队列配置属性】
  * <p>
@@ -20,4 +22,23 @@ public class MmsMqProperties {
      * 是否启用 RocketMQ（发送与消费者）；false 时发送走 NoOp，{@code @RocketMQMessageListener} 监听器不注册
      */
     private boolean enabled = true;
+
+    /**
+     * 批量消费配置（继承 AbstractMqBatchMessageListener 的监听器使用）
+     */
+    private Batch batch = new Batch();
+
+    @Data
+    public static class Batch {
+
+        /**
+         * 攒够该条数立即处理一批
+         */
+        private int maxSize = 100;
+
+        /**
+         * 未攒够时最长等待时间，到时间也处理
+         */
+        private Duration maxWait = Duration.ofMillis(200);
+    }
 }
@@ -0,0 +1,164 @@
+package com.mms.common.security.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mms.common.security.core.constants.JwtCacheKeyConstants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实现功能【单会话 sid 本地近端缓存（Reactive 版）】
+ * <p>
+ * 网关每次鉴权都需要读取 Redis 中用户当前的 sid，这里在其前面加一层本地缓存：
+ * 1. SessionUtils 写入/删除 sid 时在 {@link JwtCacheKeyConstants#SESSION_INVALIDATE_CHANNEL} 发布用户名，
+ * 各网关节点订阅后立即失效对应条目；
+ * 2. 条目带较短的存活时间，作为通知丢失时的兜底；
+ * 3. 订阅中断或重连时清空缓存，避免漏掉期间的变更。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 11:05:12
+ */
+@Slf4j
+public class SessionIdNearCache {
+
+    /**
+     * 指标中使用的缓存名
+     */
+    public static final String CACHE_NAME = "jwt.session-id";
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    private final Cache<String, String> cache;
+
+    /**
+     * 进行中的回源（用户名 → 回源令牌）：失效时移除对应用户的令牌，回源结束时令牌已不在则丢弃结果；
+     * 只影响同一用户的回源，条目在回源结束时移除，大小受并发回源数限制
+     */
+    private final ConcurrentHashMap<String, Object> pendingLoads = new ConcurrentHashMap<>();
+
+    private Disposable subscription;
+
+    public SessionIdNearCache(ReactiveStringRedisTemplate reactiveStringRedisTemplate, long maximumSize, long ttlSeconds) {
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 订阅 sid 失效通知
+     */
+    @PostConstruct
+    public void subscribe() {
+        subscription = reactiveStringRedisTemplate.listenToChannel(JwtCacheKeyConstants.SESSION_INVALIDATE_CHANNEL)
+                .doOnSubscribe(s -> invalidateAll())
+                .doOnError(e -> {
+                    log.warn("sid 失效通知订阅中断，清空本地缓存并重试: {}", e.getMessage());
+                    invalidateAll();
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(message -> invalidate(unquote(message.getMessage())));
+    }
+
+    /**
+     * 取消订阅
+     */
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * 获取本地缓存的 sid
+     *
+     * @param username 用户名
+     * @return 缓存的 sid，未命中返回 null
+     */
+    public String getIfPresent(String username) {
+        return cache.getIfPresent(username);
+    }
+
+    /**
+     * 回源读取 sid 并写入本地缓存
+     * <p>
+     * 若读取期间该用户收到过失效通知（或缓存被清空），则只返回结果、不写缓存，避免把旧值写回；
+     * 其他用户的失效不影响本次回填
+     * </p>
+     *
+     * @param username 用户名
+     * @param loader   回源读取（返回归一化后的 sid，空串表示无会话）
+     * @return sid
+     */
+    public Mono<String> load(String username, Mono<String> loader) {
+        return Mono.defer(() -> {
+            Object token = new Object();
+            pendingLoads.put(username, token);
+            return loader.doOnNext(sid -> {
+                if (!StringUtils.hasText(sid)) {
+                    return;
+                }
+                // 在令牌所在桶的锁内写缓存，与 invalidate 的“先移除令牌、再失效条目”严格串行
+                pendingLoads.computeIfPresent(username, (key, current) -> {
+                    if (current != token) {
+                        return current;
+                    }
+                    cache.put(username, sid);
+                    return null;
+                });
+            }).doFinally(signal -> pendingLoads.remove(username, token));
+        });
+    }
+
+    /**
+     * 失效指定用户的 sid
+     */
+    public void invalidate(String username) {
+        if (StringUtils.hasText(username)) {
+            pendingLoads.remove(username);
+            cache.invalidate(username);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        pendingLoads.clear();
+        cache.invalidateAll();
+    }
+
+    /**
+     * 获取底层 Caffeine 缓存（用于指标绑定）
+     */
+    public Cache<String, String> getNativeCache() {
+        return cache;
+    }
+
+    /**
+     * 发布端使用 JSON 序列化，字符串消息会带引号，这里去掉
+     */
+    private String unquote(String value) {
+        if (value == null) {
+            return null;
+        }
+        String v = value.trim();
+        if (v.length() >= 2 && v.charAt(0) == '"' && v.charAt(v.length() - 1) == '"') {
+            return v.substring(1, v.length() - 1);
+        }
+        return v;
+    }
+}
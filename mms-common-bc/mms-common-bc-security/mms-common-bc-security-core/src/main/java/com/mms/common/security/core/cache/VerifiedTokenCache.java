@@ -0,0 +1,143 @@
+package com.mms.common.security.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实现功能【已验证 Token 本地缓存】
+ * <p>
+ * 以 Token 的 SHA-256 摘要为 key 缓存已通过签名校验的 Claims，每个条目在 Token 自身的 exp 时刻过期，
+ * 同一 Token 重复请求时可跳过 HMAC 验签与 Claims 反序列化。
+ * 只缓存“签名 + 过期”这一无状态部分，会话（sid）等吊销校验仍由调用方每次执行。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 10:12:40
+ */
+@Slf4j
+public class VerifiedTokenCache {
+
+    /**
+     * 指标中使用的缓存名
+     */
+    public static final String CACHE_NAME = "jwt.verified-token";
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前 JVM 不支持 SHA-256", e);
+        }
+    });
+
+    private final Cache<String, Claims> cache;
+
+    public VerifiedTokenCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 获取已验证的 Claims
+     *
+     * @param token Token字符串
+     * @return 命中且未过期时返回 Claims，否则返回 null
+     */
+    public Claims get(String token) {
+        return cache.getIfPresent(digest(token));
+    }
+
+    /**
+     * 缓存已验证的 Claims（无 exp 或已过期的不缓存）
+     *
+     * @param token  Token字符串
+     * @param claims 已验证的 Claims
+     */
+    public void put(String token, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(digest(token), claims);
+    }
+
+    /**
+     * 移除指定 Token
+     */
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 获取底层 Caffeine 缓存（用于指标绑定）
+     */
+    public Cache<String, Claims> getNativeCache() {
+        return cache;
+    }
+
+    /**
+     * 监听 Nacos 配置变更事件，jwt.secret 更新后旧密钥签发的 Token 不能再走缓存
+     */
+    @EventListener
+    public void handleEnvironmentChange(EnvironmentChangeEvent event) {
+        boolean secretChanged = event.getKeys().stream().anyMatch(key -> key.startsWith("jwt.secret"));
+        if (secretChanged) {
+            invalidateAll();
+            log.info("检测到 JWT 密钥配置变更，已清空已验证 Token 缓存");
+        }
+    }
+
+    /**
+     * 计算 Token 摘要，避免在内存中长期持有原始 Token
+     */
+    private static String digest(String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * 条目过期策略：创建时按 Token 剩余有效期过期，读写不续期
+     */
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.mms.common.security.core.config;
 
 import com.mms.common.cache.config.CacheAutoConfiguration;
+import com.mms.common.security.core.cache.SessionIdNearCache;
+import com.mms.common.security.core.cache.VerifiedTokenCache;
 import com.mms.common.security.core.properties.GatewaySignatureProperties;
 import com.mms.common.security.core.properties.JwtProperties;
 import com.mms.common.security.core.properties.WhitelistProperties;
 import com.mms.common.security.core.utils.*;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
@@ -30,6 +36,8 @@ import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
  * 8. FeignHeaderRelayInterceptor：Feign 请求头传递拦截器
  * 9. FeignLogger：Feign 日志记录器
  * 10. FeignLoggerLevel：Feign 日志级别	
+ * 11. VerifiedTokenCache：已验证 Token 本地缓存（网关侧）
+ * 12. SessionIdNearCache：单会话 sid 本地近端缓存（网关侧，Redis Pub/Sub 失效）
  * <p>
  *
  * @author li.hongyu
@@ -51,6 +59,31 @@ public class SecurityAutoConfiguration {
 		return new JwtUtils(jwtProperties);
 	}
 
+	/**
+	 * 创建 VerifiedTokenCache Bean
+	 * 只有当 JwtUtils、ReactiveStringRedisTemplate 存在（即网关）且 jwt.verified-cache.enabled 不为 false 时创建
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnBean({JwtUtils.class, ReactiveStringRedisTemplate.class})
+	@ConditionalOnProperty(prefix = "jwt.verified-cache", name = "enabled", matchIfMissing = true)
+	public VerifiedTokenCache verifiedTokenCache(JwtProperties jwtProperties) {
+		return new VerifiedTokenCache(jwtProperties.getVerifiedCache().getMaximumSize());
+	}
+
+	/**
+	 * 创建 SessionIdNearCache Bean
+	 * 只有当 JwtUtils、ReactiveStringRedisTemplate 存在（即网关）且 jwt.session-cache.enabled 不为 false 时创建
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnBean({JwtUtils.class, ReactiveStringRedisTemplate.class})
+	@ConditionalOnProperty(prefix = "jwt.session-cache", name = "enabled", matchIfMissing = true)
+	public SessionIdNearCache sessionIdNearCache(ReactiveStringRedisTemplate reactiveStringRedisTemplate, JwtProperties jwtProperties) {
+		JwtProperties.SessionCache sessionCache = jwtProperties.getSessionCache();
+		return new SessionIdNearCache(reactiveStringRedisTemplate, sessionCache.getMaximumSize(), sessionCache.getTtlSeconds());
+	}
+
 	/**
 	 * 创建 ReactiveTokenValidatorUtils Bean
 	 * 只有当 JwtUtils、ReactiveStringRedisTemplate 存在时创建
@@ -58,8 +91,11 @@ public class SecurityAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	@ConditionalOnBean({JwtUtils.class, ReactiveStringRedisTemplate.class})
-	public ReactiveTokenValidatorUtils reactiveTokenValidatorUtils(JwtUtils jwtUtils, ReactiveStringRedisTemplate reactiveStringRedisTemplate) {
-		return new ReactiveTokenValidatorUtils(jwtUtils, reactiveStringRedisTemplate);
+	public ReactiveTokenValidatorUtils reactiveTokenValidatorUtils(JwtUtils jwtUtils, ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+																   ObjectProvider<VerifiedTokenCache> verifiedTokenCache,
+																   ObjectProvider<SessionIdNearCache> sessionIdNearCache) {
+		return new ReactiveTokenValidatorUtils(jwtUtils, reactiveStringRedisTemplate,
+				verifiedTokenCache.getIfAvailable(), sessionIdNearCache.getIfAvailable());
 	}
 
 	/**
@@ -106,6 +142,30 @@ public class SecurityAutoConfiguration {
 	public TokenValidatorUtils tokenValidatorUtils(JwtUtils jwtUtils, SessionUtils sessionUtils) {
 		return new TokenValidatorUtils(jwtUtils, sessionUtils);
 	}
-}
 
+	/**
+	 * 本地缓存指标（命中/未命中/淘汰），仅在 classpath 存在 Micrometer 时生效
+	 */
+	@Configuration
+	@ConditionalOnClass(MeterBinder.class)
+	static class SecurityCacheMetricsConfiguration {
+
+		/**
+		 * 将 VerifiedTokenCache 绑定到 MeterRegistry（由 actuator 自动注册 MeterBinder）
+		 */
+		@Bean
+		public MeterBinder verifiedTokenCacheMetrics(ObjectProvider<VerifiedTokenCache> verifiedTokenCache) {
+			return registry -> verifiedTokenCache.ifAvailable(cache ->
+					CaffeineCacheMetrics.monitor(registry, cache.getNativeCache(), VerifiedTokenCache.CACHE_NAME));
+		}
 
+		/**
+		 * 将 SessionIdNearCache 绑定到 MeterRegistry
+		 */
+		@Bean
+		public MeterBinder sessionIdNearCacheMetrics(ObjectProvider<SessionIdNearCache> sessionIdNearCache) {
+			return registry -> sessionIdNearCache.ifAvailable(cache ->
+					CaffeineCacheMetrics.monitor(registry, cache.getNativeCache(), SessionIdNearCache.CACHE_NAME));
+		}
+	}
+}
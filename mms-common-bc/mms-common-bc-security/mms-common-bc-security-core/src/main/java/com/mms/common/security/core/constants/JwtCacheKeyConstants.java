@@ -33,6 +33,11 @@ public final class JwtCacheKeyConstants {
      */
     public static final String SESSION_PREFIX = SECURITY_JWT + "session:";
 
+    /**
+     * 单会话 Session 变更通知频道（消息体为用户名，网关据此失效本地 sid 缓存）
+     */
+    public static final String SESSION_INVALIDATE_CHANNEL = SECURITY_JWT + "session-invalidate";
+
     /**
      * 私有构造函数，防止实例化
      */
@@ -0,0 +1,32 @@
+package com.mms.common.security.core.constants;
+
+import com.mms.common.cache.constants.CacheKeyPrefixConstants;
+
+/**
+ * 实现功能【用户权限缓存相关常量】
+ * <p>
+ *
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 18:20:14
+ */
+public final class UserAuthorityCacheKeyConstants {
+
+    /**
+     * 用户权限变更通知频道（消息体为用户名，* 表示全部），各业务服务据此失效本地权限缓存
+     */
+    public static final String USER_AUTHORITY_INVALIDATE_CHANNEL = CacheKeyPrefixConstants.SECURITY + "user-authority-invalidate";
+
+    /**
+     * 表示失效全部用户的消息体
+     */
+    public static final String INVALIDATE_ALL = "*";
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private UserAuthorityCacheKeyConstants() {
+        throw new UnsupportedOperationException("常量类不允许实例化");
+    }
+}
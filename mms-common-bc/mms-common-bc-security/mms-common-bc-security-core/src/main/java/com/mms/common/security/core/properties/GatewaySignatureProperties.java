@@ -1,12 +1,14 @@
 package com.mms.common.security.core.properties;
 
+import com.mms.common.security.core.signature.GatewaySignatureAlgorithm;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
  * 实现功能【网关签名配置属性】
  * <p>
- * 网关使用RSA私钥签名，下游服务使用RSA公钥验证
+ * 网关使用私钥（或共享 secret）签名，下游服务使用公钥（或共享 secret）验证
+ * 算法由 algorithm 指定，网关与下游必须一致
  * </p>
  *
  * @author li.hongyu
@@ -17,17 +19,28 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class GatewaySignatureProperties {
 
     /**
-     * RSA私钥（Base64编码的PKCS#8格式）
+     * 签名算法，默认 SHA256withRSA
+     */
+    private GatewaySignatureAlgorithm algorithm = GatewaySignatureAlgorithm.SHA256_WITH_RSA;
+
+    /**
+     * 私钥（Base64编码的PKCS#8格式，RSA 或 Ed25519）
      * 仅网关持有，用于签名
      */
     private String privateKey;
 
     /**
-     * RSA公钥（Base64编码的X.509格式）
+     * 公钥（Base64编码的X.509格式，RSA 或 Ed25519）
      * 各下游服务持有，用于验证签名
      */
     private String publicKey;
 
+    /**
+     * 共享密钥（仅 HMAC_SHA256 使用，至少 32 字节）
+     * 网关与各下游服务共同持有
+     */
+    private String secret;
+
     /**
      * 签名时间戳有效期（毫秒）
      * 默认5分钟，用于防止重放攻击
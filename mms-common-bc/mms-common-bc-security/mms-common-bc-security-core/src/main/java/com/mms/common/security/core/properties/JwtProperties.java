@@ -32,6 +32,50 @@ public class JwtProperties {
 	 * Session 单会话过期时间（毫秒），默认7天
 	 */
 	private Long sessionExpiration = 604800000L;
+
+	/**
+	 * 已验证 Token 本地缓存配置（网关侧）
+	 */
+	private VerifiedCache verifiedCache = new VerifiedCache();
+
+	@Data
+	public static class VerifiedCache {
+
+		/**
+		 * 是否开启，默认开启
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * 最大缓存条数，默认 10000
+		 */
+		private long maximumSize = 10_000L;
+	}
+
+	/**
+	 * 单会话 sid 本地近端缓存配置（网关侧）
+	 */
+	private SessionCache sessionCache = new SessionCache();
+
+	@Data
+	public static class SessionCache {
+
+		/**
+		 * 是否开启，默认开启
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * 最大缓存条数，默认 10000
+		 */
+		private long maximumSize = 10_000L;
+
+		/**
+		 * 条目存活时间（秒），默认 60 秒
+		 * 作为失效通知丢失（如 Redis 连接中断）时的兜底，决定了最坏情况下的会话吊销延迟
+		 */
+		private long ttlSeconds = 60L;
+	}
 }
 
 
@@ -4,7 +4,6 @@ import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.http.server.PathContainer;
 import org.springframework.web.util.pattern.PathPattern;
 import org.springframework.web.util.pattern.PathPatternParser;
 
@@ -17,6 +16,7 @@ import java.util.concurrent.atomic.AtomicReference;
  * 实现功能【白名单匹配器抽象基类】
  * <p>
  * 提供统一的缓存机制、配置变更监听和路径匹配逻辑
+ * 白名单模式预编译为按路径段组织的前缀树（WhitelistPathMatcher），配置刷新时整体原子替换
  * 子类只需实现如何构建白名单模式列表
  * </p>
  *
@@ -32,15 +32,15 @@ public abstract class AbstractWhitelistService {
     private static final PathPatternParser PATH_PATTERN_PARSER = new PathPatternParser();
 
     /**
-     * 缓存的白名单模式列表（使用 AtomicReference 保证线程安全）
+     * 缓存的白名单匹配器（使用 AtomicReference 保证线程安全）
      */
-    private final AtomicReference<List<PathPattern>> cachedPatterns = new AtomicReference<>();
+    private final AtomicReference<WhitelistPathMatcher> cachedMatcher = new AtomicReference<>(WhitelistPathMatcher.empty());
 
     /**
      * 获取白名单模式列表
      */
     protected List<PathPattern> getWhitelistPatterns() {
-        return cachedPatterns.get();
+        return cachedMatcher.get().getPatterns();
     }
 
     /**
@@ -91,19 +91,7 @@ public abstract class AbstractWhitelistService {
 
         // 规范化路径：确保以 / 开头
         String normalizedPath = normalizePath(path);
-        PathContainer pathContainer = PathContainer.parsePath(normalizedPath);
-
-        List<PathPattern> patterns = getWhitelistPatterns();
-        if (patterns == null || patterns.isEmpty()) {
-            return false;
-        }
-
-        for (PathPattern pattern : patterns) {
-            if (pattern.matches(pathContainer)) {
-                return true;
-            }
-        }
-        return false;
+        return cachedMatcher.get().matches(normalizedPath);
     }
 
     /**
@@ -114,7 +102,7 @@ public abstract class AbstractWhitelistService {
         log.info("白名单配置开始加载");
         // 尝试预加载缓存
         List<PathPattern> patterns = buildAndCompilePatterns();
-        cachedPatterns.set(patterns);
+        cachedMatcher.set(new WhitelistPathMatcher(patterns));
         if (!patterns.isEmpty()) {
             List<String> rawPatterns = buildRawPatterns();
             log.info("白名单配置加载成功，共 {} 个模式:\n  {}", patterns.size(), String.join("\n  ", rawPatterns));
@@ -136,7 +124,7 @@ public abstract class AbstractWhitelistService {
             synchronized (this) {
                 // 刷新缓存
                 List<PathPattern> newPatterns = buildAndCompilePatterns();
-                cachedPatterns.set(newPatterns);
+                cachedMatcher.set(new WhitelistPathMatcher(newPatterns));
                 List<String> rawPatterns = buildRawPatterns();
                 log.info("检测到白名单配置变更，已刷新缓存，新缓存共 {} 个模式:\n  {}", newPatterns.size(), String.join("\n  ", rawPatterns));
             }
@@ -0,0 +1,145 @@
+package com.mms.common.security.core.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 实现功能【白名单路径匹配器（预编译前缀树）】
+ * <p>
+ * 按路径段构建前缀树：每个模式沿其开头的字面量段（不含 * ? {）挂到对应节点上，
+ * 匹配时只沿请求路径的字面量段向下走，并仅对途经节点上挂载的模式调用 PathPattern.matches，
+ * 因此匹配开销取决于路径深度和同前缀的模式数，而非模式总数。
+ * 最终是否命中仍由 PathPattern 判定，语义与逐个匹配完全一致。
+ * 另带一个有界的路径结果缓存，热点路径无需重复解析。
+ * 实例不可变，配置刷新时整体重建替换。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 16:08:45
+ */
+final class WhitelistPathMatcher {
+
+    /**
+     * 路径匹配结果缓存上限
+     */
+    private static final long RESULT_CACHE_MAXIMUM_SIZE = 10_000L;
+
+    private static final WhitelistPathMatcher EMPTY = new WhitelistPathMatcher(List.of());
+
+    private final List<PathPattern> patterns;
+
+    private final Node root = new Node();
+
+    private final Cache<String, Boolean> resultCache = Caffeine.newBuilder()
+            .maximumSize(RESULT_CACHE_MAXIMUM_SIZE)
+            .build();
+
+    WhitelistPathMatcher(List<PathPattern> patterns) {
+        this.patterns = List.copyOf(patterns);
+        for (PathPattern pattern : this.patterns) {
+            insert(pattern);
+        }
+    }
+
+    static WhitelistPathMatcher empty() {
+        return EMPTY;
+    }
+
+    List<PathPattern> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * 判断规范化后的路径是否命中任一模式
+     *
+     * @param normalizedPath 以 / 开头的路径
+     * @return 是否命中
+     */
+    boolean matches(String normalizedPath) {
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        return resultCache.get(normalizedPath, this::doMatch);
+    }
+
+    /**
+     * 不经过结果缓存、直接在前缀树上匹配（包内可见，供基准测试对比）
+     */
+    boolean doMatch(String normalizedPath) {
+        PathContainer pathContainer = PathContainer.parsePath(normalizedPath);
+        Node node = root;
+        if (node.matchesAny(pathContainer)) {
+            return true;
+        }
+        for (PathContainer.Element element : pathContainer.elements()) {
+            if (!(element instanceof PathContainer.PathSegment segment)) {
+                continue;
+            }
+            // 与 PathPattern 一致，使用解码并去除矩阵变量后的段值
+            node = node.children.get(segment.valueToMatch());
+            if (node == null) {
+                return false;
+            }
+            if (node.matchesAny(pathContainer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 将模式挂到其字面量前缀对应的节点
+     */
+    private void insert(PathPattern pattern) {
+        Node node = root;
+        String[] segments = pattern.getPatternString().split("/");
+        // 第一个元素是开头 / 之前的空串，跳过
+        for (int i = 1; i < segments.length; i++) {
+            String segment = segments[i];
+            if (!isLiteral(segment)) {
+                break;
+            }
+            node = node.children.computeIfAbsent(segment, key -> new Node());
+        }
+        node.patterns.add(pattern);
+    }
+
+    private static boolean isLiteral(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 前缀树节点（构建完成后只读）
+     */
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private final List<PathPattern> patterns = new ArrayList<>(1);
+
+        private boolean matchesAny(PathContainer pathContainer) {
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(pathContainer)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.mms.common.security.core.signature;
+
+import com.mms.common.core.exceptions.ServerException;
+import com.mms.common.security.core.properties.GatewaySignatureProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.Signature;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 实现功能【网关签名/验签公共支撑】
+ * <p>
+ * 负责按配置的算法解析并缓存密钥（仅在算法或密钥配置变化时重新解析），
+ * 并为每个线程复用已初始化的 Signature / Mac 实例（sign()/verify()/doFinal() 后均回到初始化后的状态）。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 15:20:06
+ */
+@Slf4j
+abstract class AbstractGatewaySignatureSupport {
+
+    /**
+     * HMAC 共享密钥最小长度（字节），与 HmacSHA256 输出长度一致
+     */
+    private static final int MIN_HMAC_SECRET_BYTES = 32;
+
+    protected final GatewaySignatureProperties signatureProperties;
+
+    /**
+     * 当前算法与密钥（随配置原子替换）
+     */
+    private final AtomicReference<KeyContext> keyContext = new AtomicReference<>();
+
+    /**
+     * 线程级 Signature / Mac 复用
+     */
+    private final ThreadLocal<EngineSlot> engineSlot = new ThreadLocal<>();
+
+    protected AbstractGatewaySignatureSupport(GatewaySignatureProperties signatureProperties) {
+        this.signatureProperties = signatureProperties;
+    }
+
+    /**
+     * 读取当前算法对应的非对称密钥配置（私钥或公钥）
+     */
+    protected abstract String rawAsymmetricKey();
+
+    /**
+     * 解析非对称密钥（私钥或公钥）
+     */
+    protected abstract Key parseAsymmetricKey(String raw, String keyAlgorithm);
+
+    /**
+     * 初始化 Signature（initSign 或 initVerify）
+     */
+    protected abstract void initSignature(Signature signature, Key key) throws GeneralSecurityException;
+
+    /**
+     * 获取当前算法与密钥，配置内容变化时才重新解析
+     */
+    protected KeyContext currentKeyContext() {
+        GatewaySignatureAlgorithm algorithm = signatureProperties.getAlgorithm();
+        String raw = algorithm.isSymmetric() ? signatureProperties.getSecret() : rawAsymmetricKey();
+        KeyContext current = keyContext.get();
+        if (current != null && current.algorithm() == algorithm && Objects.equals(current.raw(), raw)) {
+            return current;
+        }
+        synchronized (keyContext) {
+            current = keyContext.get();
+            if (current == null || current.algorithm() != algorithm || !Objects.equals(current.raw(), raw)) {
+                current = new KeyContext(algorithm, raw, parseKey(algorithm, raw));
+                keyContext.set(current);
+                log.info("网关签名密钥已加载: algorithm={}", algorithm);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 获取当前线程可用的 Signature（非对称算法）
+     */
+    protected Signature acquireSignature(KeyContext context) throws GeneralSecurityException {
+        EngineSlot slot = engineSlot.get();
+        if (slot != null && slot.key() == context.key() && slot.engine() instanceof Signature signature) {
+            return signature;
+        }
+        Signature signature = Signature.getInstance(context.algorithm().getJcaName());
+        initSignature(signature, context.key());
+        engineSlot.set(new EngineSlot(context.key(), signature));
+        return signature;
+    }
+
+    /**
+     * 获取当前线程可用的 Mac（对称算法）
+     */
+    protected Mac acquireMac(KeyContext context) throws GeneralSecurityException {
+        EngineSlot slot = engineSlot.get();
+        if (slot != null && slot.key() == context.key() && slot.engine() instanceof Mac mac) {
+            return mac;
+        }
+        Mac mac = Mac.getInstance(context.algorithm().getJcaName());
+        mac.init(context.key());
+        engineSlot.set(new EngineSlot(context.key(), mac));
+        return mac;
+    }
+
+    /**
+     * 丢弃当前线程的 Signature / Mac（调用异常后状态不确定时使用）
+     */
+    protected void discardEngine() {
+        engineSlot.remove();
+    }
+
+    private Key parseKey(GatewaySignatureAlgorithm algorithm, String raw) {
+        if (!algorithm.isSymmetric()) {
+            return parseAsymmetricKey(raw, algorithm.getKeyAlgorithm());
+        }
+        if (raw == null || raw.getBytes(StandardCharsets.UTF_8).length < MIN_HMAC_SECRET_BYTES) {
+            throw new ServerException("网关签名 secret 长度不足 " + MIN_HMAC_SECRET_BYTES + " 字节");
+        }
+        return new SecretKeySpec(raw.getBytes(StandardCharsets.UTF_8), algorithm.getJcaName());
+    }
+
+    protected record KeyContext(GatewaySignatureAlgorithm algorithm, String raw, Key key) {
+    }
+
+    private record EngineSlot(Key key, Object engine) {
+    }
+}
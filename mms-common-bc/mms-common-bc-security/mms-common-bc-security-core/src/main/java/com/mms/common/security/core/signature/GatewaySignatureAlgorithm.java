@@ -0,0 +1,44 @@
+package com.mms.common.security.core.signature;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 实现功能【网关签名算法】
+ * <p>
+ * 网关与下游服务必须配置相同的算法：
+ * - SHA256_WITH_RSA：非对称，网关持有私钥、下游持有公钥（默认，兼容旧配置）
+ * - ED25519：非对称，密钥格式同 RSA（PKCS#8 私钥 / X.509 公钥），签名开销远低于 RSA
+ * - HMAC_SHA256：对称，网关与下游共享同一个 secret，开销最低，但任何持有 secret 的服务都能伪造签名
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 15:20:06
+ */
+@Getter
+@AllArgsConstructor
+public enum GatewaySignatureAlgorithm {
+
+    SHA256_WITH_RSA("SHA256withRSA", "RSA"),
+
+    ED25519("Ed25519", "Ed25519"),
+
+    HMAC_SHA256("HmacSHA256", null);
+
+    /**
+     * JCA 签名（或 MAC）算法名
+     */
+    private final String jcaName;
+
+    /**
+     * JCA 密钥算法名（对称算法为 null）
+     */
+    private final String keyAlgorithm;
+
+    /**
+     * 是否为对称（共享密钥）算法
+     */
+    public boolean isSymmetric() {
+        return keyAlgorithm == null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mms.common.security.core.signature;
+
+import com.mms.common.security.core.properties.GatewaySignatureProperties;
+import com.mms.common.security.core.utils.GatewaySignatureUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+
+/**
+ * 实现功能【网关签名验证器】
+ * <p>
+ * 按 gateway.signature.algorithm 验证网关签名（SHA256withRSA / Ed25519 / HmacSHA256），
+ * 持有已解析的密钥并按线程复用 Signature / Mac，仅在配置变更时重新解析密钥。
+ * 验证逻辑与 {@link GatewaySignatureUtils#verify} 完全一致，HMAC 使用常量时间比较。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 14:02:31
+ */
+@Slf4j
+public class GatewaySignatureVerifier extends AbstractGatewaySignatureSupport {
+
+    public GatewaySignatureVerifier(GatewaySignatureProperties signatureProperties) {
+        super(signatureProperties);
+    }
+
+    /**
+     * 验证签名
+     *
+     * @param userId       用户ID
+     * @param username     用户名
+     * @param tokenJti     Token标识
+     * @param timestamp    时间戳（毫秒）
+     * @param signatureStr Base64编码的签名值
+     * @return 验证通过返回true，否则返回false
+     */
+    public boolean verify(String userId, String username, String tokenJti, long timestamp, String signatureStr) {
+        try {
+            KeyContext context = currentKeyContext();
+            byte[] signBytes = Base64.getDecoder().decode(signatureStr);
+            byte[] content = GatewaySignatureUtils.buildSignContent(userId, username, tokenJti, timestamp)
+                    .getBytes(StandardCharsets.UTF_8);
+            boolean isValid;
+            if (context.algorithm().isSymmetric()) {
+                isValid = MessageDigest.isEqual(acquireMac(context).doFinal(content), signBytes);
+            } else {
+                Signature signature = acquireSignature(context);
+                signature.update(content);
+                isValid = signature.verify(signBytes);
+            }
+            if (!isValid) {
+                log.warn("网关签名验证失败: userId={}, username={}, tokenJti={}, reason=签名不匹配",
+                        userId, username, tokenJti);
+            }
+            return isValid;
+        } catch (Exception e) {
+            // 异常时 Signature 状态不确定，丢弃后下次重建
+            discardEngine();
+            log.warn("网关签名验证异常: userId={}, username={}, tokenJti={}, error={}",
+                    userId, username, tokenJti, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    protected String rawAsymmetricKey() {
+        return signatureProperties.getPublicKey();
+    }
+
+    @Override
+    protected Key parseAsymmetricKey(String raw, String keyAlgorithm) {
+        return GatewaySignatureUtils.parsePublicKey(raw, keyAlgorithm);
+    }
+
+    @Override
+    protected void initSignature(Signature signature, Key key) throws GeneralSecurityException {
+        signature.initVerify((PublicKey) key);
+    }
+}
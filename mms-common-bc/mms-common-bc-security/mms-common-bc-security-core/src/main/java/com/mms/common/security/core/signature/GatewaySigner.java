@@ -0,0 +1,79 @@
+package com.mms.common.security.core.signature;
+
+import com.mms.common.core.exceptions.ServerException;
+import com.mms.common.security.core.properties.GatewaySignatureProperties;
+import com.mms.common.security.core.utils.GatewaySignatureUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Base64;
+
+/**
+ * 实现功能【网关签名器】
+ * <p>
+ * 按 gateway.signature.algorithm 对用户信息签名（SHA256withRSA / Ed25519 / HmacSHA256），
+ * 持有已解析的密钥并按线程复用 Signature / Mac，仅在配置变更时重新解析密钥。
+ * 签名内容与 {@link GatewaySignatureUtils#sign} 完全一致。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 14:02:31
+ */
+@Slf4j
+public class GatewaySigner extends AbstractGatewaySignatureSupport {
+
+    public GatewaySigner(GatewaySignatureProperties signatureProperties) {
+        super(signatureProperties);
+    }
+
+    /**
+     * 对用户信息进行签名
+     *
+     * @param userId    用户ID
+     * @param username  用户名
+     * @param tokenJti  Token标识
+     * @param timestamp 时间戳（毫秒）
+     * @return Base64编码的签名值
+     */
+    public String sign(String userId, String username, String tokenJti, long timestamp) {
+        try {
+            KeyContext context = currentKeyContext();
+            byte[] content = GatewaySignatureUtils.buildSignContent(userId, username, tokenJti, timestamp)
+                    .getBytes(StandardCharsets.UTF_8);
+            byte[] signBytes;
+            if (context.algorithm().isSymmetric()) {
+                signBytes = acquireMac(context).doFinal(content);
+            } else {
+                Signature signature = acquireSignature(context);
+                signature.update(content);
+                signBytes = signature.sign();
+            }
+            return Base64.getEncoder().encodeToString(signBytes);
+        } catch (Exception e) {
+            // 异常时 Signature 状态不确定，丢弃后下次重建
+            discardEngine();
+            log.error("网关签名生成失败: userId={}, username={}, tokenJti={}, error={}",
+                    userId, username, tokenJti, e.getMessage(), e);
+            throw new ServerException("网关签名失败", e);
+        }
+    }
+
+    @Override
+    protected String rawAsymmetricKey() {
+        return signatureProperties.getPrivateKey();
+    }
+
+    @Override
+    protected Key parseAsymmetricKey(String raw, String keyAlgorithm) {
+        return GatewaySignatureUtils.parsePrivateKey(raw, keyAlgorithm);
+    }
+
+    @Override
+    protected void initSignature(Signature signature, Key key) throws GeneralSecurityException {
+        signature.initSign((PrivateKey) key);
+    }
+}
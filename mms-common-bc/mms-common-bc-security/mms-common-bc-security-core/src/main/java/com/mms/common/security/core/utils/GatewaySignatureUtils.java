@@ -14,6 +14,8 @@ import java.util.Base64;
  * <p>
  * 网关使用RSA私钥对用户信息进行数字签名，下游服务使用公钥验证签名
  * 签名内容：userId|username|tokenJti|timestamp
+ * 本类每次调用都会解析密钥并新建 Signature，适合低频场景；
+ * 请求链路上请使用持有已解析密钥、支持多种算法的 GatewaySigner / GatewaySignatureVerifier
  * </p>
  *
  * @author li.hongyu
@@ -107,14 +109,24 @@ public class GatewaySignatureUtils {
      * 组装待签名内容
      * 格式：userId|username|tokenJti|timestamp
      */
-    private static String buildSignContent(String userId, String username, String tokenJti, long timestamp) {
+    public static String buildSignContent(String userId, String username, String tokenJti, long timestamp) {
         return userId + DELIMITER + username + DELIMITER + tokenJti + DELIMITER + timestamp;
     }
 
     /**
      * 解析RSA私钥（PKCS#8格式，Base64编码）
      */
-    private static PrivateKey parsePrivateKey(String privateKeyStr) {
+    public static PrivateKey parsePrivateKey(String privateKeyStr) {
+        return parsePrivateKey(privateKeyStr, ALGORITHM);
+    }
+
+    /**
+     * 解析私钥（PKCS#8格式，Base64编码）
+     *
+     * @param privateKeyStr 私钥
+     * @param keyAlgorithm  密钥算法（RSA / Ed25519）
+     */
+    public static PrivateKey parsePrivateKey(String privateKeyStr, String keyAlgorithm) {
         try {
             // 移除可能的PEM格式标记
             String keyContent = privateKeyStr
@@ -124,18 +136,28 @@ public class GatewaySignatureUtils {
 
             byte[] keyBytes = Base64.getDecoder().decode(keyContent);
             PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(keyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
+            KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm);
             return keyFactory.generatePrivate(keySpec);
         } catch (Exception e) {
-            log.error("解析RSA私钥失败", e);
-            throw new ServerException("解析RSA私钥失败", e);
+            log.error("解析{}私钥失败", keyAlgorithm, e);
+            throw new ServerException("解析" + keyAlgorithm + "私钥失败", e);
         }
     }
 
     /**
      * 解析RSA公钥（X.509格式，Base64编码）
      */
-    private static PublicKey parsePublicKey(String publicKeyStr) {
+    public static PublicKey parsePublicKey(String publicKeyStr) {
+        return parsePublicKey(publicKeyStr, ALGORITHM);
+    }
+
+    /**
+     * 解析公钥（X.509格式，Base64编码）
+     *
+     * @param publicKeyStr 公钥
+     * @param keyAlgorithm 密钥算法（RSA / Ed25519）
+     */
+    public static PublicKey parsePublicKey(String publicKeyStr, String keyAlgorithm) {
         try {
             // 移除可能的PEM格式标记
             String keyContent = publicKeyStr
@@ -147,11 +169,11 @@ public class GatewaySignatureUtils {
 
             byte[] keyBytes = Base64.getDecoder().decode(keyContent);
             X509EncodedKeySpec keySpec = new X509EncodedKeySpec(keyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
+            KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm);
             return keyFactory.generatePublic(keySpec);
         } catch (Exception e) {
-            log.error("解析RSA公钥失败", e);
-            throw new ServerException("解析RSA公钥失败", e);
+            log.error("解析{}公钥失败", keyAlgorithm, e);
+            throw new ServerException("解析" + keyAlgorithm + "公钥失败", e);
         }
     }
 }
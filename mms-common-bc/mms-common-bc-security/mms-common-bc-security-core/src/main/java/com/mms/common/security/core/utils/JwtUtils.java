@@ -9,28 +9,43 @@ import com.mms.common.security.core.properties.JwtProperties;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 实现功能【JWT 工具类：生成、解析、验证JWT】
  * <p>
- *
+ * 签名密钥与 JwtParser 在创建时构建一次并复用（两者均线程安全），
+ * 仅当 jwt.secret 变更（Nacos 刷新）时重建，避免每次解析/生成都重新派生密钥
  * <p>
  *
  * @author li.hongyu
  * @date 2025-12-04 15:46:51
  */
-@AllArgsConstructor
+@Slf4j
 public class JwtUtils {
 
 	private final JwtProperties jwtProperties;
 
+	/**
+	 * 当前使用的签名密钥与解析器（随 jwt.secret 原子替换）
+	 */
+	private final AtomicReference<SigningContext> signingContext = new AtomicReference<>();
+
+	public JwtUtils(JwtProperties jwtProperties) {
+		this.jwtProperties = jwtProperties;
+		this.signingContext.set(buildSigningContext(jwtProperties.getSecret()));
+	}
+
 	/**
 	 * 生成Access Token
 	 *
@@ -82,7 +97,7 @@ public class JwtUtils {
 				.claim(JwtClaimsConstants.TOKEN_TYPE, tokenType.name())
 				.issuedAt(now)
 				.expiration(expiryDate)
-				.signWith(getSigningKey())
+				.signWith(getSigningContext().key())
 				.compact();
 	}
 
@@ -93,9 +108,7 @@ public class JwtUtils {
 	 */
 	public Claims parseToken(String token) {
 		try {
-			return Jwts.parser()
-					.verifyWith(getSigningKey())
-					.build()
+			return getSigningContext().parser()
 					.parseSignedClaims(token)
 					.getPayload();
 		} catch (ExpiredJwtException e) {
@@ -106,12 +119,49 @@ public class JwtUtils {
 	}
 
 	/**
-	 * 获取 JWT 密钥
-	 * @return JWT 密钥
+	 * 监听 Nacos 配置变更事件，jwt.secret 更新时重建签名密钥与解析器
 	 */
-	private SecretKey getSigningKey() {
-		byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-		return Keys.hmacShaKeyFor(keyBytes);
+	@EventListener
+	public void handleEnvironmentChange(EnvironmentChangeEvent event) {
+		boolean jwtChanged = event.getKeys().stream().anyMatch(key -> key.startsWith("jwt."));
+		if (jwtChanged) {
+			getSigningContext();
+		}
+	}
+
+	/**
+	 * 获取当前签名上下文
+	 * <p>
+	 * 配置属性的重新绑定与本类的事件监听顺序不确定，这里按 secret 比对兜底：
+	 * secret 未变化时只是一次引用比较，变化时才重建
+	 * </p>
+	 */
+	private SigningContext getSigningContext() {
+		SigningContext current = signingContext.get();
+		String secret = jwtProperties.getSecret();
+		if (current.secret().equals(secret)) {
+			return current;
+		}
+		synchronized (signingContext) {
+			current = signingContext.get();
+			if (!current.secret().equals(secret)) {
+				current = buildSigningContext(secret);
+				signingContext.set(current);
+				log.info("检测到 JWT 密钥配置变更，已重建签名密钥与解析器");
+			}
+			return current;
+		}
+	}
+
+	/**
+	 * 根据 secret 构建 JWT 密钥与解析器
+	 */
+	private static SigningContext buildSigningContext(String secret) {
+		SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+		JwtParser parser = Jwts.parser()
+				.verifyWith(key)
+				.build();
+		return new SigningContext(secret, key, parser);
 	}
 
 	/**
@@ -149,6 +199,10 @@ public class JwtUtils {
 	public long getRefreshTokenTtlSeconds() {
 		return jwtProperties.getRefreshExpiration() / 1000;
 	}
-}
-
 
+	/**
+	 * 签名上下文：secret 及由其派生的密钥、解析器
+	 */
+	private record SigningContext(String secret, SecretKey key, JwtParser parser) {
+	}
+}
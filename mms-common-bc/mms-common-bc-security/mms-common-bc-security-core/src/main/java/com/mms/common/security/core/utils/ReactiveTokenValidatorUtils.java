@@ -3,6 +3,8 @@ package com.mms.common.security.core.utils;
 import com.mms.common.core.enums.error.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.core.enums.jwt.TokenType;
+import com.mms.common.security.core.cache.SessionIdNearCache;
+import com.mms.common.security.core.cache.VerifiedTokenCache;
 import com.mms.common.security.core.constants.JwtCacheKeyConstants;
 import com.mms.common.security.core.constants.JwtClaimsConstants;
 import com.mms.common.security.core.constants.JwtHeaderConstants;
@@ -19,6 +21,8 @@ import java.util.Optional;
  * 实现功能【Token验证工具类（Reactive 版）】
  * <p>
  * 适用于 WebFlux 场景，使用 Reactive Redis 避免阻塞线程。
+ * 配置了 VerifiedTokenCache 时，同一 Token 的验签结果会被复用，会话校验仍每次执行；
+ * 配置了 SessionIdNearCache 时，会话 sid 优先从本地近端缓存读取，不一致时再回源 Redis 确认。
  * </p>
  *
  * @author li.hongyu
@@ -30,6 +34,16 @@ public class ReactiveTokenValidatorUtils {
     private final JwtUtils jwtUtils;
     private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
 
+    /**
+     * 已验证 Token 缓存（可为 null，表示不缓存）
+     */
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * 会话 sid 近端缓存（可为 null，表示每次都读 Redis）
+     */
+    private final SessionIdNearCache sessionIdNearCache;
+
     /**
      * 解析并验证Token（与同步版保持一致）
      *
@@ -42,21 +56,29 @@ public class ReactiveTokenValidatorUtils {
             return Mono.error(new BusinessException(ErrorCode.INVALID_TOKEN));
         }
 
-        // 解析 Token
+        // 解析 Token（优先复用已验证结果）
+        Claims cachedClaims = verifiedTokenCache != null ? verifiedTokenCache.get(token) : null;
         final Claims claims;
-        try {
-            claims = jwtUtils.parseToken(token);
-        } catch (BusinessException e) {
-            return Mono.error(e);
-        } catch (Exception e) {
-            return Mono.error(new BusinessException(ErrorCode.INVALID_TOKEN));
+        if (cachedClaims != null) {
+            claims = cachedClaims;
+        } else {
+            try {
+                claims = jwtUtils.parseToken(token);
+            } catch (BusinessException e) {
+                return Mono.error(e);
+            } catch (Exception e) {
+                return Mono.error(new BusinessException(ErrorCode.INVALID_TOKEN));
+            }
         }
 
-        // 校验过期
+        // 校验过期（缓存条目按 exp 过期，这里仍做兜底）
         Date expiration = claims.getExpiration();
         if (expiration == null || expiration.before(new Date())) {
             return Mono.error(new BusinessException(ErrorCode.LOGIN_EXPIRED));
         }
+        if (cachedClaims == null && verifiedTokenCache != null) {
+            verifiedTokenCache.put(token, claims);
+        }
 
         // 校验类型
         if (expectedType != null) {
@@ -77,19 +99,30 @@ public class ReactiveTokenValidatorUtils {
             return Mono.error(new BusinessException(ErrorCode.LOGIN_EXPIRED));
         }
 
+        // 校验 session：本地缓存命中且一致直接通过，否则回源 Redis 确认
+        if (sessionIdNearCache != null && sid.equals(sessionIdNearCache.getIfPresent(username))) {
+            return Mono.just(claims);
+        }
+        Mono<String> currentSidMono = sessionIdNearCache != null
+                ? sessionIdNearCache.load(username, loadSessionId(username))
+                : loadSessionId(username);
+        return currentSidMono.flatMap(currentSid -> {
+            if (!StringUtils.hasText(currentSid) || !sid.equals(currentSid)) {
+                return Mono.error(new BusinessException(ErrorCode.LOGIN_EXPIRED));
+            }
+            return Mono.just(claims);
+        });
+    }
+
+    /**
+     * 从 Redis 读取用户当前 sid（已归一化，不存在时为空串）
+     */
+    private Mono<String> loadSessionId(String username) {
         // 拼接 sid 缓存key
         String sessionKey = JwtCacheKeyConstants.SESSION_PREFIX + username;
-
-        // 校验 session
         return reactiveStringRedisTemplate.opsForValue().get(sessionKey)
-                .defaultIfEmpty("")
-                .flatMap(currentSid -> {
-                    String normalizedCurrentSid = normalizeRedisSid(currentSid);
-                    if (!StringUtils.hasText(normalizedCurrentSid) || !sid.equals(normalizedCurrentSid)) {
-                        return Mono.error(new BusinessException(ErrorCode.LOGIN_EXPIRED));
-                    }
-                    return Mono.just(claims);
-                });
+                .mapNotNull(this::normalizeRedisSid)
+                .defaultIfEmpty("");
     }
 
     /**
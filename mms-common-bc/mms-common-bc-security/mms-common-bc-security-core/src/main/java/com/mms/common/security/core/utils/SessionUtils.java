@@ -12,6 +12,7 @@ import java.util.concurrent.TimeUnit;
  * 实现功能【单会话 Session 工具类】
  * <p>
  * 负责将“当前有效会话 sid”按用户名写入 Redis，用于严格单会话校验。
+ * sid 写入/删除后会在 {@link JwtCacheKeyConstants#SESSION_INVALIDATE_CHANNEL} 上发布用户名，通知网关失效本地缓存。
  * </p>
  *
  * @author li.hongyu
@@ -34,6 +35,7 @@ public class SessionUtils {
         }
         String key = JwtCacheKeyConstants.SESSION_PREFIX + username;
         RedisUtils.set(key, sid, jwtProperties.getSessionExpiration(), TimeUnit.MILLISECONDS);
+        RedisUtils.publish(JwtCacheKeyConstants.SESSION_INVALIDATE_CHANNEL, username);
     }
 
     /**
@@ -56,6 +58,7 @@ public class SessionUtils {
         }
         String key = JwtCacheKeyConstants.SESSION_PREFIX + username;
         RedisUtils.delete(key);
+        RedisUtils.publish(JwtCacheKeyConstants.SESSION_INVALIDATE_CHANNEL, username);
     }
 }
 
@@ -7,7 +7,12 @@ import com.mms.common.security.core.constants.JwtClaimsConstants;
 import io.jsonwebtoken.Claims;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -36,6 +41,29 @@ public class TokenBlacklistUtils {
         return Boolean.TRUE.equals(RedisUtils.exists(key));
     }
 
+    /**
+     * 批量检查Token是否在黑名单中（一次往返）
+     *
+     * @param jtis Token的唯一标识集合
+     * @return 在黑名单中的jti集合
+     */
+    public Set<String> getBlacklisted(Collection<String> jtis) {
+        if (jtis == null || jtis.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<String> keys = jtis.stream()
+                .filter(StringUtils::hasText)
+                .map(jti -> JwtCacheKeyConstants.TOKEN_BLACKLIST_PREFIX + jti)
+                .toList();
+        Set<String> blacklisted = new HashSet<>();
+        RedisUtils.multiExists(keys).forEach((key, exists) -> {
+            if (Boolean.TRUE.equals(exists)) {
+                blacklisted.add(key.substring(JwtCacheKeyConstants.TOKEN_BLACKLIST_PREFIX.length()));
+            }
+        });
+        return blacklisted;
+    }
+
     /**
      * 将Token加入黑名单
      *
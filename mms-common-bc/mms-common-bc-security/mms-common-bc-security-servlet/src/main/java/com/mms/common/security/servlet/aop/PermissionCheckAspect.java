@@ -3,6 +3,7 @@ package com.mms.common.security.servlet.aop;
 import com.mms.common.core.enums.error.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.security.servlet.annotations.RequiresPermission;
+import com.mms.common.security.servlet.filter.UserAuthenticationToken;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
@@ -25,6 +26,7 @@ import java.util.Collection;
  * 说明：
  * - 该切面依赖 Spring Security 已经在当前线程设置了 Authentication（JwtAuthenticationFilter 已完成）
  * - 校验逻辑基于 authorities 中的权限字符串，与 UserDetailsServiceImpl / SecurityUser 保持一致
+ * - 认证信息为 {@link UserAuthenticationToken} 时直接对权限位图做位测试，否则回退为遍历 authorities
  *
  * @author li.hongyu
  * @date 2025-12-19 10:35:26
@@ -55,6 +57,15 @@ public class PermissionCheckAspect {
             throw new BusinessException(ErrorCode.NO_PERMISSION);
         }
 
+        if (authentication instanceof UserAuthenticationToken token && token.getUserAuthorities() != null) {
+            if (!token.getUserAuthorities().hasPermission(requiredPermission)) {
+                log.warn("权限校验失败：缺少权限，requiredPermission={}，currentAuthorities={}",
+                        requiredPermission, token.getAuthorities());
+                throw new BusinessException(ErrorCode.NO_PERMISSION);
+            }
+            return;
+        }
+
         Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
         if (authorities == null || authorities.isEmpty()) {
             log.warn("权限校验失败：当前用户未分配任何权限，requiredPermission={}", requiredPermission);
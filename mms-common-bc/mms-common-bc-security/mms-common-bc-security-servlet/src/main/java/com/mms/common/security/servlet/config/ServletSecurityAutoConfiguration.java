@@ -8,17 +8,20 @@ import com.mms.common.security.servlet.feign.FeignLogger;
 import com.mms.common.security.servlet.filter.JwtAuthenticationFilter;
 import com.mms.common.security.servlet.filter.UserAuthorityProvider;
 import com.mms.common.security.servlet.properties.CookieProperties;
+import com.mms.common.security.servlet.properties.UserAuthorityCacheProperties;
 import com.mms.common.security.servlet.service.GatewaySignatureVerificationService;
 import com.mms.common.security.servlet.service.ServiceWhitelistService;
 import feign.Logger;
 import feign.RequestInterceptor;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -40,16 +43,16 @@ import org.springframework.security.web.SecurityFilterChain;
  */
 @Configuration
 @ConditionalOnClass(HttpServletRequest.class)
-@EnableConfigurationProperties({CookieProperties .class})  // 在此类当中注入配置属性Bean
+@EnableConfigurationProperties({CookieProperties .class, UserAuthorityCacheProperties.class})  // 在此类当中注入配置属性Bean
 public class ServletSecurityAutoConfiguration {
 
     /**
      * 创建 GatewaySignatureVerificationService Bean
-     * 需要配置 gateway.signature.public-key 属性
+     * 需要配置 gateway.signature.public-key（RSA / Ed25519）或 gateway.signature.secret（HMAC）属性
      */
     @Bean
     @ConditionalOnMissingBean
-    @ConditionalOnProperty(prefix = "gateway.signature", name = "public-key")
+    @Conditional(OnGatewaySignatureKeyCondition.class)
     public GatewaySignatureVerificationService gatewaySignatureVerificationService(GatewaySignatureProperties gatewaySignatureProperties) {
         return new GatewaySignatureVerificationService(gatewaySignatureProperties);
     }
@@ -94,6 +97,24 @@ public class ServletSecurityAutoConfiguration {
         return new PermissionCheckAspect();
     }
 
+    /**
+     * 配置了验签公钥或共享 secret 任意一个即满足
+     */
+    static class OnGatewaySignatureKeyCondition extends AnyNestedCondition {
+
+        OnGatewaySignatureKeyCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "gateway.signature", name = "public-key")
+        static class OnPublicKey {
+        }
+
+        @ConditionalOnProperty(prefix = "gateway.signature", name = "secret")
+        static class OnSecret {
+        }
+    }
+
     /**
      * Feign 相关 Bean：仅在存在 Feign 依赖时装配
      * 避免未引入 Feign 的服务启动时报缺类。
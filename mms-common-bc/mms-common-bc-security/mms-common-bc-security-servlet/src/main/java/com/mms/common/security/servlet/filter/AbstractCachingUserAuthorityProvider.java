@@ -0,0 +1,146 @@
+package com.mms.common.security.servlet.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mms.common.security.core.constants.UserAuthorityCacheKeyConstants;
+import com.mms.common.security.core.vo.UserAuthorityVo;
+import com.mms.common.security.servlet.properties.UserAuthorityCacheProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 实现功能【带本地缓存的用户角色权限提供基类】
+ * <p>
+ * 在 {@link #getUserAuthoritiesFromSource(String)}（Redis / Feign / 本地服务）前加一层本地缓存（L1），
+ * 缓存的是组装好的 {@link UserAuthorities}（不可变权限集合 + 权限位图），命中时既不访问网络也不重建集合：
+ * 1. 条目数量与存活时间有界（security.user-authority-cache.*）；
+ * 2. 用户中心清除 USER_AUTHORITY 缓存后在 {@link UserAuthorityCacheKeyConstants#USER_AUTHORITY_INVALIDATE_CHANNEL}
+ * 发布用户名，这里订阅后立即失效对应条目；
+ * 3. 存活时间作为通知丢失时的兜底。
+ * 子类只需实现 getUserAuthoritiesFromSource。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 18:31:05
+ */
+@Slf4j
+public abstract class AbstractCachingUserAuthorityProvider implements UserAuthorityProvider, MessageListener {
+
+    @Resource
+    private UserAuthorityCacheProperties userAuthorityCacheProperties;
+
+    @Resource
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private Cache<String, UserAuthorities> cache;
+
+    private RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 初始化本地缓存并订阅失效通知
+     */
+    @PostConstruct
+    public void initAuthorityCache() {
+        if (!userAuthorityCacheProperties.isEnabled()) {
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(userAuthorityCacheProperties.getMaximumSize())
+                .expireAfterWrite(userAuthorityCacheProperties.getTtl())
+                .build();
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(redisConnectionFactory);
+        listenerContainer.addMessageListener(this, new ChannelTopic(UserAuthorityCacheKeyConstants.USER_AUTHORITY_INVALIDATE_CHANNEL));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    /**
+     * 关闭订阅
+     */
+    @PreDestroy
+    public void destroyAuthorityCache() throws Exception {
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    /**
+     * 获取用户权限快照，优先读本地缓存
+     * <p>
+     * 失效通知与回源并发时，Caffeine 会等回源结束后再移除该条目，不会把旧值留在缓存中
+     * </p>
+     */
+    @Override
+    public UserAuthorities getUserAuthorities(String username) {
+        if (cache == null) {
+            return UserAuthorityProvider.super.getUserAuthorities(username);
+        }
+        UserAuthorities authorities = cache.get(username, this::loadUserAuthorities);
+        return authorities != null ? authorities : UserAuthorities.EMPTY;
+    }
+
+    /**
+     * 失效指定用户的本地权限缓存
+     */
+    public void invalidate(String username) {
+        if (cache != null && StringUtils.hasText(username)) {
+            cache.invalidate(username);
+        }
+    }
+
+    /**
+     * 清空本地权限缓存
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * 处理失效通知
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String username = unquote(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (UserAuthorityCacheKeyConstants.INVALIDATE_ALL.equals(username)) {
+            invalidateAll();
+        } else {
+            invalidate(username);
+        }
+    }
+
+    /**
+     * 回源加载，来源返回 null 时不缓存
+     */
+    private UserAuthorities loadUserAuthorities(String username) {
+        UserAuthorityVo userAuthorityVo = getUserAuthoritiesFromSource(username);
+        if (userAuthorityVo == null) {
+            log.warn("未获取到用户 {} 的角色权限信息", username);
+            return null;
+        }
+        return UserAuthorities.of(userAuthorityVo);
+    }
+
+    /**
+     * 发布端使用 JSON 序列化，字符串消息会带引号，这里去掉
+     */
+    private String unquote(String value) {
+        String v = value.trim();
+        if (v.length() >= 2 && v.charAt(0) == '"' && v.charAt(v.length() - 1) == '"') {
+            return v.substring(1, v.length() - 1);
+        }
+        return v;
+    }
+}
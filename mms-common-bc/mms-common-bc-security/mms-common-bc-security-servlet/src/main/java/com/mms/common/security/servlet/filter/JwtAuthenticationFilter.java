@@ -5,26 +5,18 @@ import com.mms.common.core.enums.error.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.security.servlet.service.GatewaySignatureVerificationService;
 import com.mms.common.security.servlet.service.ServiceWhitelistService;
-import com.mms.common.security.core.vo.UserAuthorityVo;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 实现功能【通用Jwt过滤器】
@@ -80,24 +72,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.warn("网关签名验证通过但缺少用户名: traceId={}, path={}, method={}, userId={}", traceId, path, method, userId);
             throw new BusinessException(ErrorCode.INVALID_TOKEN);
         }
-        // 获取用户角色和权限
-        UserAuthorityVo authoritiesVo = userAuthorityProvider.getUserAuthoritiesFromSource(username);
-        // 组装用户权限
-        Set<GrantedAuthority> authorities = new HashSet<>();
-        Set<String> roles = authoritiesVo.getRoles();
-        Set<String> permissions = authoritiesVo.getPermissions();
-        if (!CollectionUtils.isEmpty(roles)) {
-            authorities.addAll(roles.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toSet()));
-        }
-        if (!CollectionUtils.isEmpty(permissions)) {
-            authorities.addAll(permissions.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toSet()));
-        }
-        // 创建 Authentication 对象，并添加用户名和权限
-        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(username, null, authorities);
+        // 获取用户角色和权限（不可变快照，可能来自本地缓存）
+        UserAuthorities userAuthorities = userAuthorityProvider.getUserAuthorities(username);
+        // 创建 Authentication 对象，并添加用户名和权限（同时携带权限位图供权限校验使用）
+        UserAuthenticationToken authentication = new UserAuthenticationToken(username, userAuthorities);
         // 设置认证详情（IP 地址、Session ID 等）
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         // 设置到 SecurityContext
@@ -0,0 +1,47 @@
+package com.mms.common.security.servlet.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 实现功能【权限编码驻留表】
+ * <p>
+ * 进程内为每个权限编码分配一个稠密的整数 ID（从 0 递增，分配后不再变化），
+ * 用户的权限集合据此压缩为位图，权限校验变为一次哈希查找 + 一次位测试。
+ * 编码（含 ROLE_ 前缀的角色编码）在首次组装某个用户的权限时登记，权限与角色编码总数有限，表的大小随之有界。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 22:18:40
+ */
+public final class PermissionCodeRegistry {
+
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private PermissionCodeRegistry() {
+    }
+
+    /**
+     * 获取权限编码的 ID，未登记时分配新 ID
+     *
+     * @param code 权限编码
+     * @return 权限 ID
+     */
+    public static int intern(String code) {
+        Integer id = IDS.get(code);
+        return id != null ? id : IDS.computeIfAbsent(code, c -> NEXT_ID.getAndIncrement());
+    }
+
+    /**
+     * 获取权限编码的 ID，不分配
+     *
+     * @param code 权限编码
+     * @return 权限 ID，未登记时返回 -1（说明没有任何用户拥有该权限）
+     */
+    public static int lookup(String code) {
+        Integer id = IDS.get(code);
+        return id != null ? id : -1;
+    }
+}
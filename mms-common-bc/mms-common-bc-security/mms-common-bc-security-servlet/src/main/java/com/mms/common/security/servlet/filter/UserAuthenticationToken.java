@@ -0,0 +1,35 @@
+package com.mms.common.security.servlet.filter;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.io.Serial;
+
+/**
+ * 实现功能【携带权限位图的认证令牌】
+ * <p>
+ * 由 {@link JwtAuthenticationFilter} 创建，在标准的 UsernamePasswordAuthenticationToken 之外
+ * 保留 {@link UserAuthorities}，权限校验切面可直接做位测试，而不是遍历 getAuthorities()。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 22:29:55
+ */
+public class UserAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient UserAuthorities userAuthorities;
+
+    public UserAuthenticationToken(String username, UserAuthorities userAuthorities) {
+        super(username, null, userAuthorities.getGrantedAuthorities());
+        this.userAuthorities = userAuthorities;
+    }
+
+    /**
+     * 获取用户权限快照
+     */
+    public UserAuthorities getUserAuthorities() {
+        return userAuthorities;
+    }
+}
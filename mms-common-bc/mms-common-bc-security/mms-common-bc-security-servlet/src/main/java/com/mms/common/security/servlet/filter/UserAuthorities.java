@@ -0,0 +1,89 @@
+package com.mms.common.security.servlet.filter;
+
+import com.mms.common.security.core.vo.UserAuthorityVo;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * 实现功能【用户权限快照】
+ * <p>
+ * 同时持有 Spring Security 需要的不可变 GrantedAuthority 集合，
+ * 以及按 {@link PermissionCodeRegistry} 编号压缩的权限位图（long[]），
+ * {@link #hasPermission(String)} 只做一次位测试，不遍历集合。
+ * 位图覆盖全部 GrantedAuthority（角色 + 权限），与逐个比对 GrantedAuthority 的判定结果一致。
+ * 对象不可变，可在本地缓存中被多个请求共享。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 22:24:12
+ */
+public final class UserAuthorities {
+
+    /**
+     * 无任何角色和权限
+     */
+    public static final UserAuthorities EMPTY = new UserAuthorities(Set.of(), new long[0]);
+
+    private final Set<GrantedAuthority> grantedAuthorities;
+
+    private final long[] permissionBits;
+
+    private UserAuthorities(Set<GrantedAuthority> grantedAuthorities, long[] permissionBits) {
+        this.grantedAuthorities = grantedAuthorities;
+        this.permissionBits = permissionBits;
+    }
+
+    /**
+     * 由用户角色和权限信息组装
+     *
+     * @param userAuthorityVo 用户角色和权限信息，为 null 时返回 {@link #EMPTY}
+     * @return 用户权限快照
+     */
+    public static UserAuthorities of(UserAuthorityVo userAuthorityVo) {
+        if (userAuthorityVo == null) {
+            return EMPTY;
+        }
+        Set<GrantedAuthority> grantedAuthorities = UserAuthorityProvider.toGrantedAuthorities(userAuthorityVo);
+        long[] bits = new long[0];
+        for (GrantedAuthority authority : grantedAuthorities) {
+            String code = authority.getAuthority();
+            if (code == null) {
+                continue;
+            }
+            int id = PermissionCodeRegistry.intern(code);
+            int word = id >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, word + 1);
+            }
+            bits[word] |= 1L << id;
+        }
+        return new UserAuthorities(grantedAuthorities, bits);
+    }
+
+    /**
+     * 获取不可变的权限集合（角色 + 权限）
+     */
+    public Set<GrantedAuthority> getGrantedAuthorities() {
+        return grantedAuthorities;
+    }
+
+    /**
+     * 是否拥有指定权限编码（与任一 GrantedAuthority 相等即视为拥有）
+     *
+     * @param permissionCode 权限编码
+     * @return 是否拥有
+     */
+    public boolean hasPermission(String permissionCode) {
+        if (permissionCode == null) {
+            return false;
+        }
+        int id = PermissionCodeRegistry.lookup(permissionCode);
+        if (id < 0) {
+            return false;
+        }
+        int word = id >>> 6;
+        return word < permissionBits.length && (permissionBits[word] & (1L << id)) != 0;
+    }
+}
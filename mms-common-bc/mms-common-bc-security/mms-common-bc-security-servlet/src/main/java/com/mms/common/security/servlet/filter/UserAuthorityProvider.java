@@ -1,11 +1,17 @@
 package com.mms.common.security.servlet.filter;
 
 import com.mms.common.security.core.vo.UserAuthorityVo;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * 实现功能【用户角色权限提供接口】
  * <p>
  * 需各服务实现此接口来提供权限信息，供通用的Jwt过滤器使用
+ * 需要本地缓存时继承 {@link AbstractCachingUserAuthorityProvider}
  * <p>
  *
  * @author li.hongyu
@@ -20,4 +26,41 @@ public interface UserAuthorityProvider {
      * @return 用户角色和权限信息
      */
     UserAuthorityVo getUserAuthoritiesFromSource(String username);
-}
\ No newline at end of file
+
+    /**
+     * 根据用户名获取组装好的权限快照（权限集合 + 权限位图）
+     *
+     * @param username 用户名
+     * @return 用户权限快照
+     */
+    default UserAuthorities getUserAuthorities(String username) {
+        return UserAuthorities.of(getUserAuthoritiesFromSource(username));
+    }
+
+    /**
+     * 根据用户名获取组装好的权限集合（角色 + 权限）
+     *
+     * @param username 用户名
+     * @return 不可变的权限集合
+     */
+    default Set<GrantedAuthority> getGrantedAuthorities(String username) {
+        return getUserAuthorities(username).getGrantedAuthorities();
+    }
+
+    /**
+     * 将角色和权限编码组装为不可变的权限集合
+     *
+     * @param userAuthorityVo 用户角色和权限信息
+     * @return 不可变的权限集合
+     */
+    static Set<GrantedAuthority> toGrantedAuthorities(UserAuthorityVo userAuthorityVo) {
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        if (userAuthorityVo.getRoles() != null) {
+            userAuthorityVo.getRoles().forEach(role -> authorities.add(new SimpleGrantedAuthority(role)));
+        }
+        if (userAuthorityVo.getPermissions() != null) {
+            userAuthorityVo.getPermissions().forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission)));
+        }
+        return Set.copyOf(authorities);
+    }
+}
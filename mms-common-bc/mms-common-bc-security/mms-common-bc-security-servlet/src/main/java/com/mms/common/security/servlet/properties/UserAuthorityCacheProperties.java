@@ -0,0 +1,32 @@
+package com.mms.common.security.servlet.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【用户权限本地缓存配置属性】
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 18:22:40
+ */
+@Data
+@ConfigurationProperties(prefix = "security.user-authority-cache")
+public class UserAuthorityCacheProperties {
+
+    /**
+     * 是否开启本地缓存，默认开启
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大缓存用户数，默认 10000
+     */
+    private long maximumSize = 10_000L;
+
+    /**
+     * 写入后存活时间，默认 5 分钟（作为失效通知丢失时的兜底）
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+}
@@ -4,28 +4,34 @@ import com.mms.common.core.constants.gateway.GatewayConstants;
 import com.mms.common.core.enums.error.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.security.core.properties.GatewaySignatureProperties;
-import com.mms.common.security.core.utils.GatewaySignatureUtils;
+import com.mms.common.security.core.signature.GatewaySignatureVerifier;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
 
 /**
  * 实现功能【网关签名验证器】
  * <p>
- * 下游服务使用RSA公钥验证网关签名，确保请求来自网关且未被篡改
+ * 下游服务按 gateway.signature.algorithm 验证网关签名（默认RSA公钥），确保请求来自网关且未被篡改
  * 此服务仅在 Servlet 环境（业务服务）中生效，网关（WebFlux）环境不会创建此 Bean
+ * 密钥只解析一次（配置变更时重新解析），Signature / Mac 按线程复用
  * </p>
  *
  * @author li.hongyu
  * @date 2025-12-30 11:42:40
  */
 @Slf4j
-@AllArgsConstructor
 public class GatewaySignatureVerificationService {
 
     private final GatewaySignatureProperties signatureProperties;
 
+    private final GatewaySignatureVerifier gatewaySignatureVerifier;
+
+    public GatewaySignatureVerificationService(GatewaySignatureProperties signatureProperties) {
+        this.signatureProperties = signatureProperties;
+        this.gatewaySignatureVerifier = new GatewaySignatureVerifier(signatureProperties);
+    }
+
     /**
      * 验证网关签名
      *
@@ -74,8 +80,7 @@ public class GatewaySignatureVerificationService {
         }
 
         // 验证签名
-        boolean isValid = GatewaySignatureUtils.verify(
-                userId, username, tokenJti, timestamp, signature, signatureProperties.getPublicKey());
+        boolean isValid = gatewaySignatureVerifier.verify(userId, username, tokenJti, timestamp, signature);
 
         if (!isValid) {
             log.warn("网关签名验证失败: traceId={}, path={}, method={}, reason=签名不匹配, userId={}, username={}, tokenJti={}",
@@ -43,6 +43,17 @@ public class ThreadPoolBuilder {
         return executor;
     }
 
+    /**
+     * 密码哈希线程池
+     */
+    public ThreadPoolTaskExecutor passwordHashTaskExecutor(ThreadPoolProperties properties) {
+        ExecutorProperties cfg = properties.getPasswordHash();
+        String prefix = cfg.getThreadNamePrefix() != null ? cfg.getThreadNamePrefix() : "password-hash-";
+        ThreadPoolTaskExecutor executor = buildExecutor(cfg, prefix);
+        log.info("【密码哈希线程池】加载成功：core={}, max={}, queue={}, prefix={}", cfg.getCorePoolSize(), cfg.getMaxPoolSize(), cfg.getQueueCapacity(), prefix);
+        return executor;
+    }
+
     /**
      * 构建线程池
      */
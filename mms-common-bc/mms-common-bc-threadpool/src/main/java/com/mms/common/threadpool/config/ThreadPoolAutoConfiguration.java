@@ -11,9 +11,10 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 /**
  * 实现功能【线程池自动装配配置】
  * <p>
- * 提供两个线程池：
+ * 提供三个线程池：
  * - schedulerTaskExecutor：定时任务线程池
  * - fileTaskExecutor：文件上传/下载线程池
+ * - passwordHashTaskExecutor：密码哈希线程池
  * <p>
  *
  * @author li.hongyu
@@ -42,5 +43,13 @@ public class ThreadPoolAutoConfiguration {
     public ThreadPoolTaskExecutor fileTaskExecutor(ThreadPoolProperties properties) {
         return builder.fileTaskExecutor(properties);
     }
-}
 
+    /**
+     * 密码哈希线程池
+     */
+    @Bean(name = "passwordHashTaskExecutor")
+    @ConditionalOnMissingBean(name = "passwordHashTaskExecutor")
+    public ThreadPoolTaskExecutor passwordHashTaskExecutor(ThreadPoolProperties properties) {
+        return builder.passwordHashTaskExecutor(properties);
+    }
+}
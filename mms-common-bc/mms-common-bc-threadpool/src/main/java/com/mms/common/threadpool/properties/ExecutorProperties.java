@@ -79,4 +79,20 @@ public class ExecutorProperties {
         p.setRejectedPolicy(RejectedPolicy.CALLER_RUNS);
         return p;
     }
-}
\ No newline at end of file
+
+    /**
+     * 默认的密码哈希线程池配置
+     * BCrypt 为纯 CPU 计算，线程数与核数一致；队列有界，满时快速拒绝而不是拖慢调用线程
+     */
+    public static ExecutorProperties passwordHashDefaults() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ExecutorProperties p = new ExecutorProperties();
+        p.setCorePoolSize(cores);
+        p.setMaxPoolSize(cores);
+        p.setQueueCapacity(cores * 16);
+        p.setKeepAliveTime(60L);
+        p.setAllowCoreThreadTimeOut(true);
+        p.setRejectedPolicy(RejectedPolicy.ABORT);
+        return p;
+    }
+}
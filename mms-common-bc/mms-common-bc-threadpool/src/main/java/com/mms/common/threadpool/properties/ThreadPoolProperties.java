@@ -25,5 +25,10 @@ public class ThreadPoolProperties {
      * 文件上传/下载线程池配置
      */
     private ExecutorProperties file = ExecutorProperties.fileDefaults();
+
+    /**
+     * 密码哈希（BCrypt）线程池配置
+     */
+    private ExecutorProperties passwordHash = ExecutorProperties.passwordHashDefaults();
 }
 
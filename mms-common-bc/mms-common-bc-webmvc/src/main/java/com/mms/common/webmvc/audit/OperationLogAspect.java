@@ -17,12 +17,13 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.MDC;
-import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.MethodClassKey;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Method;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 实现功能【操作日志采集切面】
@@ -51,6 +52,8 @@ public class OperationLogAspect {
     private final ThreadPoolTaskExecutor schedulerTaskExecutor;
     // 对象映射器
     private final ObjectMapper objectMapper;
+    // 方法描述缓存（方法 + 目标类 -> 描述），每个方法只解析一次注解
+    private final Map<MethodClassKey, OperationLogMethodDescriptor> descriptorCache = new ConcurrentHashMap<>();
 
     /**
      * 拦截类或者接口上带 {@link RequiresPermission} 的注解，异步投递 MQ
@@ -62,24 +65,10 @@ public class OperationLogAspect {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         // 获取方法
         Method method = signature.getMethod();
-        // 获取方法上的 {@link RequiresPermission} 注解
-        RequiresPermission requiresPermission = resolveRequiresPermission(method, joinPoint.getTarget().getClass());
-        if (requiresPermission == null || !StringUtils.hasText(requiresPermission.value())) {
-            // 如果注解不存在或者权限代码为空，则直接返回
-            return joinPoint.proceed();
-        }
-        // 获取权限代码
-        String permissionCode = requiresPermission.value();
-        // 获取权限元数据
-        Optional<OperationLogPermissionMeta> metaOptional = OperationLogPermissionMappings.resolve(permissionCode);
-        // 如果权限元数据不存在，则直接返回
-        if (metaOptional.isEmpty()) {
-            return joinPoint.proceed();
-        }
-        // 获取 HTTP 方法   
-        String httpMethod = OperationLogHttpMethodUtils.resolveHttpMethod(method);
-        // 如果 HTTP 方法不是可记录的，则直接返回
-        if (!OperationLogHttpMethodUtils.isRecordableHttpMethod(httpMethod)) {
+        // 获取方法描述（权限码、审计展示字段、HTTP 方法等，首次调用时解析并缓存）
+        OperationLogMethodDescriptor descriptor = resolveDescriptor(method, joinPoint.getTarget().getClass());
+        // 如果注解不存在、权限码没有映射或 HTTP 方法不是可记录的，则直接返回
+        if (!descriptor.recordable()) {
             return joinPoint.proceed();
         }
         // 获取用户上下文
@@ -94,8 +83,6 @@ public class OperationLogAspect {
         if (request == null) {
             return joinPoint.proceed();
         }
-        // 获取权限元数据
-        OperationLogPermissionMeta meta = metaOptional.get();
         // 定义开始时间
         long startMs = System.currentTimeMillis();
         // 定义结果
@@ -113,14 +100,11 @@ public class OperationLogAspect {
             if (shouldPublish(caught)) {
                 // 异步投递 MQ
                 publishAsync(buildPayload(
-                        meta,
-                        permissionCode,
+                        descriptor,
                         userContext,
                         request,
                         joinPoint.getArgs(),
-                        httpMethod,
                         result,
-                        method.getReturnType() == void.class,
                         startMs,
                         caught
                 ));
@@ -147,16 +131,14 @@ public class OperationLogAspect {
     /**
      * 构建 MQ 消息
      */
-    private OperationLogRecordMqPayload buildPayload(OperationLogPermissionMeta meta,
-                                                   String permissionCode,
+    private OperationLogRecordMqPayload buildPayload(OperationLogMethodDescriptor descriptor,
                                                    UserContext userContext,
                                                    HttpServletRequest request,
                                                    Object[] methodArgs,
-                                                   String httpMethod,
                                                    Object result,
-                                                   boolean voidReturn,
                                                    long startMs,
                                                    Throwable caught) {
+        OperationLogPermissionMeta meta = descriptor.meta();
         // 创建 MQ 消息
         OperationLogRecordMqPayload payload = new OperationLogRecordMqPayload();
         // 设置 ID
@@ -174,15 +156,15 @@ public class OperationLogAspect {
         // 设置操作描述
         payload.setOperationDesc(meta.operationDesc());
         // 设置请求方法
-        payload.setRequestMethod(httpMethod);
+        payload.setRequestMethod(descriptor.httpMethod());
         // 设置请求 URL
         payload.setRequestUrl(buildRequestUrl(request));
         // 设置请求 IP
         payload.setRequestIp(userContext.getClientIp());
         // 设置请求参数
-        payload.setRequestParams(OperationLogPayloadUtils.buildRequestParams(request, methodArgs, objectMapper));
+        payload.setRequestParams(OperationLogPayloadUtils.buildRequestParams(request, methodArgs, descriptor.loggableArgIndexes(), objectMapper));
         // 设置响应数据
-        payload.setResponseData(OperationLogPayloadUtils.buildResponseSummary(result, voidReturn, objectMapper));
+        payload.setResponseData(OperationLogPayloadUtils.buildResponseSummary(result, descriptor.voidReturn(), objectMapper));
         // 设置耗时
         payload.setCostMs(System.currentTimeMillis() - startMs);
         // 设置操作时间
@@ -198,7 +180,7 @@ public class OperationLogAspect {
         }
         // 如果 traceId 为空，则记录日志
         if (!StringUtils.hasText(payload.getTraceId())) {
-            log.debug("操作日志缺少 traceId, permissionCode={}", permissionCode);
+            log.debug("操作日志缺少 traceId, permissionCode={}", descriptor.permissionCode());
         }
         return payload;
     }
@@ -221,14 +203,11 @@ public class OperationLogAspect {
     }
 
     /**
-     * 解析 {@link RequiresPermission} 注解
+     * 获取方法描述，首次调用时解析 {@link RequiresPermission} 注解并缓存
      */
-    private RequiresPermission resolveRequiresPermission(Method method, Class<?> targetClass) {
-        RequiresPermission methodAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, RequiresPermission.class);
-        if (methodAnnotation != null) {
-            return methodAnnotation;
-        }
-        return AnnotatedElementUtils.findMergedAnnotation(targetClass, RequiresPermission.class);
+    private OperationLogMethodDescriptor resolveDescriptor(Method method, Class<?> targetClass) {
+        return descriptorCache.computeIfAbsent(new MethodClassKey(method, targetClass),
+                key -> OperationLogMethodDescriptor.resolve(method, targetClass));
     }
 
     /**
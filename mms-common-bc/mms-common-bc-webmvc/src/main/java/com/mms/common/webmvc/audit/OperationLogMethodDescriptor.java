@@ -0,0 +1,88 @@
+package com.mms.common.webmvc.audit;
+
+import com.mms.common.security.servlet.annotations.RequiresPermission;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * 实现功能【操作日志方法描述】
+ * <p>
+ * 每个 Controller 方法（+ 目标类）首次被拦截时解析一次并缓存：
+ * {@link RequiresPermission} 权限码、审计展示字段、HTTP 方法、是否无返回值、需要记录的入参下标。
+ * 之后的调用只做一次 Map 查找，不再做注解合并等反射操作。
+ * </p>
+ *
+ * @param permissionCode     权限码
+ * @param meta               审计展示字段
+ * @param httpMethod         HTTP 方法
+ * @param voidReturn         是否无返回值
+ * @param loggableArgIndexes 需要记录的入参下标（排除 request/response/BindingResult/文件）
+ * @author li.hongyu
+ * @date 2026-10-17 22:46:03
+ */
+public record OperationLogMethodDescriptor(String permissionCode,
+                                           OperationLogPermissionMeta meta,
+                                           String httpMethod,
+                                           boolean voidReturn,
+                                           int[] loggableArgIndexes) {
+
+    /**
+     * 不需要记录操作日志的方法
+     */
+    public static final OperationLogMethodDescriptor NOT_RECORDABLE =
+            new OperationLogMethodDescriptor(null, null, null, false, new int[0]);
+
+    /**
+     * 是否需要记录操作日志
+     */
+    public boolean recordable() {
+        return meta != null;
+    }
+
+    /**
+     * 解析方法描述
+     *
+     * @param method      方法
+     * @param targetClass 目标类
+     * @return 方法描述，不需要记录时返回 {@link #NOT_RECORDABLE}
+     */
+    public static OperationLogMethodDescriptor resolve(Method method, Class<?> targetClass) {
+        RequiresPermission requiresPermission = AnnotatedElementUtils.findMergedAnnotation(method, RequiresPermission.class);
+        if (requiresPermission == null) {
+            requiresPermission = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequiresPermission.class);
+        }
+        if (requiresPermission == null || !StringUtils.hasText(requiresPermission.value())) {
+            return NOT_RECORDABLE;
+        }
+        String permissionCode = requiresPermission.value();
+        Optional<OperationLogPermissionMeta> meta = OperationLogPermissionMappings.resolve(permissionCode);
+        if (meta.isEmpty()) {
+            return NOT_RECORDABLE;
+        }
+        String httpMethod = OperationLogHttpMethodUtils.resolveHttpMethod(method);
+        if (!OperationLogHttpMethodUtils.isRecordableHttpMethod(httpMethod)) {
+            return NOT_RECORDABLE;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        int[] loggableArgIndexes = IntStream.range(0, parameterTypes.length)
+                .filter(i -> isLoggableParameterType(parameterTypes[i]))
+                .toArray();
+        return new OperationLogMethodDescriptor(permissionCode, meta.get(), httpMethod,
+                method.getReturnType() == void.class, loggableArgIndexes);
+    }
+
+    private static boolean isLoggableParameterType(Class<?> type) {
+        return !ServletRequest.class.isAssignableFrom(type)
+                && !ServletResponse.class.isAssignableFrom(type)
+                && !BindingResult.class.isAssignableFrom(type)
+                && !MultipartFile.class.isAssignableFrom(type);
+    }
+}
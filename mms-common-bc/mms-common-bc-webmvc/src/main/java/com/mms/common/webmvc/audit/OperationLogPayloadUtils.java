@@ -36,6 +36,16 @@ public final class OperationLogPayloadUtils {
      * 构建请求参数摘要（query + body + 控制器入参）
      */
     public static String buildRequestParams(HttpServletRequest request, Object[] methodArgs, ObjectMapper objectMapper) {
+        return buildRequestParams(request, methodArgs, null, objectMapper);
+    }
+
+    /**
+     * 构建请求参数摘要，只考虑指定下标的控制器入参
+     *
+     * @param loggableArgIndexes 需要记录的入参下标，为 null 时考虑全部入参
+     */
+    public static String buildRequestParams(HttpServletRequest request, Object[] methodArgs, int[] loggableArgIndexes,
+                                            ObjectMapper objectMapper) {
         Map<String, Object> root = new LinkedHashMap<>();
         Map<String, String[]> parameterMap = request.getParameterMap();
         if (parameterMap != null && !parameterMap.isEmpty()) {
@@ -60,7 +70,7 @@ public final class OperationLogPayloadUtils {
             }
         }
         if (!root.containsKey("body")) {
-            List<Object> loggableArgs = collectLoggableMethodArgs(methodArgs);
+            List<Object> loggableArgs = collectLoggableMethodArgs(methodArgs, loggableArgIndexes);
             if (!loggableArgs.isEmpty()) {
                 root.put("args", loggableArgs.size() == 1 ? loggableArgs.get(0) : loggableArgs);
             }
@@ -126,12 +136,23 @@ public final class OperationLogPayloadUtils {
         return null;
     }
 
-    private static List<Object> collectLoggableMethodArgs(Object[] methodArgs) {
+    private static List<Object> collectLoggableMethodArgs(Object[] methodArgs, int[] loggableArgIndexes) {
         if (methodArgs == null || methodArgs.length == 0) {
             return List.of();
         }
         List<Object> loggableArgs = new ArrayList<>();
-        for (Object arg : methodArgs) {
+        if (loggableArgIndexes == null) {
+            for (Object arg : methodArgs) {
+                if (arg == null || !isLoggableMethodArg(arg)) {
+                    continue;
+                }
+                loggableArgs.add(arg);
+            }
+            return loggableArgs;
+        }
+        for (int index : loggableArgIndexes) {
+            Object arg = index < methodArgs.length ? methodArgs[index] : null;
+            // 声明类型已过滤，这里仍按实际类型兜底（如参数声明为 Object）
             if (arg == null || !isLoggableMethodArg(arg)) {
                 continue;
             }
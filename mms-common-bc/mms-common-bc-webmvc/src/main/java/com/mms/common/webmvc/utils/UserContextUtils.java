@@ -6,6 +6,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
 /**
  * 实现功能【用户上下文工具类】
  * <p>
@@ -72,7 +75,7 @@ public class UserContextUtils {
         userContext.setClientIp(clientIp);
         userContext.setExpiration(expiration);
         userContext.setUserAgent(userAgent);
-        userContext.setLoginLocation(loginLocation);
+        userContext.setLoginLocation(decodeHeaderValue(loginLocation));
 
         return userContext;
     }
@@ -184,6 +187,20 @@ public class UserContextUtils {
         return context != null ? context.getLoginLocation() : null;
     }
 
+    /**
+     * 解码网关 URL 编码透传的请求头（如登录地点含中文），格式异常时原样返回
+     */
+    private static String decodeHeaderValue(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+
     /**
      * 私有构造函数，防止实例化
      */
@@ -0,0 +1,25 @@
+package com.mms.common.websocket.common.enums;
+
+/**
+ * 实现功能【WebSocket 会话发送队列溢出策略】
+ * <p>
+ * 会话发送队列已满（客户端消费过慢）时如何处理新消息
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 21:05:12
+ */
+public enum WsOverflowPolicy {
+    /**
+     * 丢弃队列中最旧的消息，再放入新消息
+     */
+    DROP_OLDEST,
+    /**
+     * 丢弃新消息，保留队列中已有消息
+     */
+    DROP_NEWEST,
+    /**
+     * 关闭该会话，由客户端重连后重新拉取状态
+     */
+    CLOSE
+}
@@ -1,6 +1,7 @@
 package com.mms.common.websocket.common.properties;
 
 import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.common.websocket.common.enums.WsOverflowPolicy;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -46,5 +47,39 @@ public class WebSocketProperties {
      * 单个会话的发送缓冲区大小（字节），默认 512KB
      */
     private int sendBufferSizeBytes = 512 * 1024;
-}
 
+    /**
+     * 异步发送配置
+     */
+    private Outbound outbound = new Outbound();
+
+    @Data
+    public static class Outbound {
+
+        /**
+         * 是否开启异步发送：开启后每个会话一个有界发送队列，由发送线程池消费，推送调用立即返回
+         * 关闭时在调用方线程逐个同步发送
+         */
+        private boolean enabled = true;
+
+        /**
+         * 单个会话发送队列容量（消息条数）
+         */
+        private int queueCapacity = 256;
+
+        /**
+         * 队列满时的溢出策略
+         */
+        private WsOverflowPolicy overflowPolicy = WsOverflowPolicy.DROP_OLDEST;
+
+        /**
+         * 发送线程数，默认 CPU 核数
+         */
+        private int senderThreads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * 单个会话每轮最多连续发送的消息数，发完后让出线程给其他会话
+         */
+        private int drainBatchSize = 64;
+    }
+}
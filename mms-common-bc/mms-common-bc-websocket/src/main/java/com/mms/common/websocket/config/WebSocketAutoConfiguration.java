@@ -12,10 +12,14 @@ import com.mms.common.websocket.receive.handler.system.LeaveRoomWsReceiverMessag
 import com.mms.common.websocket.receive.handler.system.PingWsReceiverMessageHandler;
 import com.mms.common.websocket.auth.AuthHandshakeInterceptor;
 import com.mms.common.websocket.common.properties.WebSocketProperties;
+import com.mms.common.websocket.push.outbound.WsOutboundDispatcher;
 import com.mms.common.websocket.push.service.WsPushService;
 import com.mms.common.websocket.push.service.impl.WsPushServiceImpl;
 import com.mms.common.websocket.registry.service.impl.InMemoryWsRegistryServiceImpl;
 import com.mms.common.websocket.registry.service.WsRegistryService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.validation.Validator;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -112,14 +116,24 @@ public class WebSocketAutoConfiguration {
         return new WsReceiveTextDispatcher(wsRegistryService, objectMapper, validator, messageHandlers.orderedStream().toList());
     }
 
+    /**
+     * 异步发送调度器
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    public WsOutboundDispatcher wsOutboundDispatcher(WebSocketProperties properties) {
+        return new WsOutboundDispatcher(properties.getOutbound());
+    }
+
     /**
      * 推送服务
      */
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnBean(name = JacksonObjectMapperUtils.COMMON_OBJECT_MAPPER_BEAN_NAME)
-    public WsPushService wsPushService(WsRegistryService wsRegistryService, @Qualifier(JacksonObjectMapperUtils.COMMON_OBJECT_MAPPER_BEAN_NAME) ObjectMapper objectMapper) {
-        return new WsPushServiceImpl(wsRegistryService, objectMapper);
+    public WsPushService wsPushService(WsRegistryService wsRegistryService, @Qualifier(JacksonObjectMapperUtils.COMMON_OBJECT_MAPPER_BEAN_NAME) ObjectMapper objectMapper,
+                                       WsOutboundDispatcher wsOutboundDispatcher) {
+        return new WsPushServiceImpl(wsRegistryService, objectMapper, wsOutboundDispatcher);
     }
 
     /**
@@ -133,4 +147,37 @@ public class WebSocketAutoConfiguration {
                 .setHandshakeHandler(handshakeHandler)
                 .setAllowedOrigins("*");
     }
-}
\ No newline at end of file
+
+    /**
+     * 发送队列指标，仅在 classpath 存在 Micrometer 时生效
+     * 按会话打标签会随连接数膨胀，这里只暴露汇总值，单个会话的队列长度通过 {@link WsOutboundDispatcher#getQueueDepth(String)} 查询
+     */
+    @Configuration
+    @ConditionalOnClass(MeterBinder.class)
+    static class WebSocketOutboundMetricsConfiguration {
+
+        @Bean
+        public MeterBinder wsOutboundMetrics(ObjectProvider<WsOutboundDispatcher> wsOutboundDispatcher) {
+            return registry -> wsOutboundDispatcher.ifAvailable(dispatcher -> {
+                Gauge.builder("mms.websocket.outbound.sessions", dispatcher, WsOutboundDispatcher::getSessionCount)
+                        .description("持有发送队列的会话数")
+                        .register(registry);
+                Gauge.builder("mms.websocket.outbound.queue.size", dispatcher, WsOutboundDispatcher::getQueuedCount)
+                        .description("全部会话排队中的消息总数")
+                        .register(registry);
+                Gauge.builder("mms.websocket.outbound.queue.max", dispatcher, WsOutboundDispatcher::getMaxQueueDepth)
+                        .description("排队最深的会话的队列长度")
+                        .register(registry);
+                FunctionCounter.builder("mms.websocket.outbound.dropped", dispatcher, WsOutboundDispatcher::getDroppedCount)
+                        .description("因队列溢出丢弃的消息数")
+                        .register(registry);
+                FunctionCounter.builder("mms.websocket.outbound.closed", dispatcher, WsOutboundDispatcher::getClosedCount)
+                        .description("因队列溢出关闭的会话数")
+                        .register(registry);
+                FunctionCounter.builder("mms.websocket.outbound.failed", dispatcher, WsOutboundDispatcher::getFailedCount)
+                        .description("发送失败的消息数")
+                        .register(registry);
+            });
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.mms.common.websocket.push.outbound;
+
+import com.mms.common.websocket.common.enums.WsOverflowPolicy;
+import com.mms.common.websocket.common.properties.WebSocketProperties;
+import com.mms.common.websocket.registry.event.WsSessionUnregisteredEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 实现功能【WebSocket 异步发送调度器】
+ * <p>
+ * 每个会话一个有界发送队列，由共享的发送线程池消费：
+ * 1. 推送方只负责入队，调用立即返回，慢客户端不再阻塞整个广播和触发推送的业务线程；
+ * 2. 同一会话同一时刻只有一个发送线程，每轮最多发送 drainBatchSize 条后让出线程，慢会话只占用一个发送线程；
+ * 3. 队列满时按溢出策略丢弃最旧 / 丢弃最新 / 关闭会话；
+ * 4. 会话注销时回收队列。
+ * 未开启异步发送时在调用方线程同步发送（与原有行为一致）。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 21:05:12
+ */
+@Slf4j
+public class WsOutboundDispatcher {
+
+    private final WebSocketProperties.Outbound properties;
+
+    /**
+     * 会话发送队列（sessionId → 队列）
+     */
+    private final ConcurrentHashMap<String, WsOutboundQueue> queues = new ConcurrentHashMap<>();
+
+    private final ExecutorService senderExecutor;
+
+    /**
+     * 因队列溢出丢弃的消息数
+     */
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * 因队列溢出关闭的会话数
+     */
+    private final LongAdder closedCount = new LongAdder();
+
+    /**
+     * 发送失败的消息数
+     */
+    private final LongAdder failedCount = new LongAdder();
+
+    public WsOutboundDispatcher(WebSocketProperties.Outbound properties) {
+        this.properties = properties;
+        if (properties.isEnabled()) {
+            int threads = Math.max(1, properties.getSenderThreads());
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ws-sender-");
+            threadFactory.setDaemon(true);
+            // 任务数不超过会话数（每个会话最多一个待执行的消费任务），无需限制任务队列长度
+            this.senderExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory);
+        } else {
+            this.senderExecutor = null;
+        }
+    }
+
+    /**
+     * 发送消息：开启异步发送时入队后立即返回，否则同步发送
+     */
+    public void send(WebSocketSession session, WebSocketMessage<?> message) {
+        if (!session.isOpen()) {
+            return;
+        }
+        if (senderExecutor == null) {
+            sendNow(session, message);
+            return;
+        }
+        WsOutboundQueue queue = queues.computeIfAbsent(session.getId(),
+                key -> new WsOutboundQueue(session, properties.getQueueCapacity()));
+        if (!enqueue(queue, message)) {
+            return;
+        }
+        schedule(queue);
+    }
+
+    /**
+     * 会话注销后回收发送队列
+     */
+    @EventListener
+    public void onSessionUnregistered(WsSessionUnregisteredEvent event) {
+        WsOutboundQueue queue = queues.remove(event.getSessionId());
+        if (queue != null) {
+            queue.clear();
+        }
+    }
+
+    /**
+     * 当前持有发送队列的会话数
+     */
+    public int getSessionCount() {
+        return queues.size();
+    }
+
+    /**
+     * 全部会话排队中的消息总数
+     */
+    public long getQueuedCount() {
+        long total = 0;
+        for (WsOutboundQueue queue : queues.values()) {
+            total += queue.size();
+        }
+        return total;
+    }
+
+    /**
+     * 排队最深的会话的队列长度
+     */
+    public int getMaxQueueDepth() {
+        int max = 0;
+        for (WsOutboundQueue queue : queues.values()) {
+            max = Math.max(max, queue.size());
+        }
+        return max;
+    }
+
+    /**
+     * 指定会话的队列长度，会话不存在时返回 0
+     */
+    public int getQueueDepth(String sessionId) {
+        WsOutboundQueue queue = queues.get(sessionId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getClosedCount() {
+        return closedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * 停止发送线程池，未发出的消息直接丢弃
+     */
+    public void shutdown() {
+        if (senderExecutor != null) {
+            senderExecutor.shutdownNow();
+        }
+        queues.clear();
+    }
+
+    /**
+     * 入队，队列已满时按溢出策略处理；返回是否需要调度消费
+     */
+    private boolean enqueue(WsOutboundQueue queue, WebSocketMessage<?> message) {
+        if (queue.offer(message)) {
+            return true;
+        }
+        WsOverflowPolicy policy = properties.getOverflowPolicy();
+        if (policy == WsOverflowPolicy.DROP_NEWEST) {
+            droppedCount.increment();
+            return false;
+        }
+        if (policy == WsOverflowPolicy.CLOSE) {
+            closeOnOverflow(queue);
+            return false;
+        }
+        // DROP_OLDEST：与消费线程并发时可能需要多次腾出位置
+        while (!queue.offer(message)) {
+            if (queue.dropOldest()) {
+                droppedCount.increment();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 提交消费任务（同一会话同一时刻只提交一个）
+     */
+    private void schedule(WsOutboundQueue queue) {
+        if (!queue.trySchedule()) {
+            return;
+        }
+        try {
+            senderExecutor.execute(() -> drain(queue));
+        } catch (RejectedExecutionException e) {
+            // 线程池已关闭（应用停止中），丢弃未发出的消息
+            queue.unschedule();
+            queue.clear();
+        }
+    }
+
+    /**
+     * 消费会话队列，每轮最多发送 drainBatchSize 条，剩余消息重新排队以免独占发送线程
+     */
+    private void drain(WsOutboundQueue queue) {
+        WebSocketSession session = queue.getSession();
+        try {
+            int batchSize = Math.max(1, properties.getDrainBatchSize());
+            for (int i = 0; i < batchSize; i++) {
+                WebSocketMessage<?> message = queue.poll();
+                if (message == null) {
+                    break;
+                }
+                if (!session.isOpen()) {
+                    queue.clear();
+                    queues.remove(session.getId(), queue);
+                    break;
+                }
+                sendNow(session, message);
+            }
+        } finally {
+            queue.unschedule();
+        }
+        if (!queue.isEmpty()) {
+            schedule(queue);
+        }
+    }
+
+    private void sendNow(WebSocketSession session, WebSocketMessage<?> message) {
+        try {
+            session.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            // 发送超时或缓冲区超限时 ConcurrentWebSocketSessionDecorator 会抛出 SessionLimitExceededException 并关闭会话
+            failedCount.increment();
+            log.warn("WebSocket 消息推送失败, sessionId={}", session.getId(), e);
+        }
+    }
+
+    /**
+     * 溢出策略为 CLOSE 时关闭会话，关闭动作交给发送线程执行，避免阻塞推送方
+     */
+    private void closeOnOverflow(WsOutboundQueue queue) {
+        if (!queue.tryClose()) {
+            return;
+        }
+        closedCount.increment();
+        queue.clear();
+        WebSocketSession session = queue.getSession();
+        log.warn("WebSocket 会话发送队列已满，关闭会话, sessionId={}", session.getId());
+        try {
+            senderExecutor.execute(() -> closeQuietly(session));
+        } catch (RejectedExecutionException e) {
+            closeQuietly(session);
+        }
+    }
+
+    private void closeQuietly(WebSocketSession session) {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException | RuntimeException e) {
+            log.debug("WebSocket 会话关闭失败, sessionId={}", session.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.mms.common.websocket.push.outbound;
+
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 实现功能【单个 WebSocket 会话的有界发送队列】
+ * <p>
+ * 入队由任意业务线程完成；scheduled 标记保证同一时刻最多一个发送线程在消费该队列，
+ * 从而保持单个会话内的消息顺序，也不会出现同一会话的并发写。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 21:05:12
+ */
+class WsOutboundQueue {
+
+    private final WebSocketSession session;
+
+    private final ArrayBlockingQueue<WebSocketMessage<?>> messages;
+
+    /**
+     * 是否已提交（或正在执行）消费任务
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * 是否已因溢出触发关闭
+     */
+    private final AtomicBoolean closing = new AtomicBoolean();
+
+    WsOutboundQueue(WebSocketSession session, int capacity) {
+        this.session = session;
+        this.messages = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    WebSocketSession getSession() {
+        return session;
+    }
+
+    /**
+     * 尝试入队，队列已满时返回 false
+     */
+    boolean offer(WebSocketMessage<?> message) {
+        return messages.offer(message);
+    }
+
+    /**
+     * 丢弃最旧的一条消息，返回是否确实丢弃
+     */
+    boolean dropOldest() {
+        return messages.poll() != null;
+    }
+
+    WebSocketMessage<?> poll() {
+        return messages.poll();
+    }
+
+    boolean isEmpty() {
+        return messages.isEmpty();
+    }
+
+    int size() {
+        return messages.size();
+    }
+
+    void clear() {
+        messages.clear();
+    }
+
+    /**
+     * 抢占消费权，成功的线程负责提交消费任务
+     */
+    boolean trySchedule() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    void unschedule() {
+        scheduled.set(false);
+    }
+
+    /**
+     * 抢占关闭权，保证溢出关闭只执行一次
+     */
+    boolean tryClose() {
+        return closing.compareAndSet(false, true);
+    }
+}
@@ -1,11 +1,12 @@
 package com.mms.common.websocket.push.service;
 
 import com.mms.common.websocket.common.protocol.WsMessage;
+import org.springframework.web.socket.TextMessage;
 
 /**
  * 实现功能【WebSocket 推送服务】
  * <p>
- *
+ * 同一消息推送给多个会话时只编码一次：{@link #encode(WsMessage)} 得到的共享帧可在多次推送间复用
  * </p>
  *
  * @author li.hongyu
@@ -27,5 +28,26 @@ public interface WsPushService {
      * 广播给当前注册表中的全部会话
      */
     void broadcast(WsMessage<?> message);
-}
 
+    /**
+     * 将消息编码为 UTF-8 共享帧（不可变，可推送给任意多个会话）
+     *
+     * @return 编码失败时返回 null
+     */
+    TextMessage encode(WsMessage<?> message);
+
+    /**
+     * 推送已编码的共享帧给指定用户的所有连接
+     */
+    void pushToUser(String userId, TextMessage frame);
+
+    /**
+     * 推送已编码的共享帧给指定房间内所有已 join 的连接
+     */
+    void pushToRoom(String roomId, TextMessage frame);
+
+    /**
+     * 广播已编码的共享帧给当前注册表中的全部会话
+     */
+    void broadcast(TextMessage frame);
+}
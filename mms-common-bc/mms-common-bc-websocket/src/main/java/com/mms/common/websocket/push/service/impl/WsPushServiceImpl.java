@@ -2,20 +2,22 @@ package com.mms.common.websocket.push.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mms.common.websocket.common.protocol.WsMessage;
+import com.mms.common.websocket.push.outbound.WsOutboundDispatcher;
 import com.mms.common.websocket.push.service.WsPushService;
 import com.mms.common.websocket.registry.service.WsRegistryService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.socket.TextMessage;
-import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
-import java.util.Set;
 
 /**
  * 实现功能【WebSocket 推送服务实现类】
  * <p>
- *
+ * 消息只编码一次（直接序列化为 UTF-8 字节），所有目标会话复用同一个不可变的 TextMessage 帧：
+ * 不再逐会话创建 TextMessage，ConcurrentWebSocketSessionDecorator 统计缓冲大小时也无需逐会话重新编码；
+ * 发送交给 {@link WsOutboundDispatcher}（开启异步发送时入队即返回，各会话队列引用同一帧）；
+ * 目标会话通过注册表的 forEach 方法原地遍历，不复制会话集合
  * </p>
  *
  * @author li.hongyu
@@ -35,12 +37,21 @@ public class WsPushServiceImpl implements WsPushService {
      */
     private final ObjectMapper objectMapper;
 
+    /**
+     * 异步发送调度器
+     */
+    private final WsOutboundDispatcher outboundDispatcher;
+
     /**
      * 推送给指定用户的所有连接
      */
     @Override
     public void pushToUser(String userId, WsMessage<?> message) {
-        sendToSessions(sessionRegistry.getByUserId(userId), message);
+        // 本节点没有目标连接时不做序列化
+        if (sessionRegistry.viewByUserId(userId).isEmpty()) {
+            return;
+        }
+        pushToUser(userId, encode(message));
     }
 
     /**
@@ -48,7 +59,10 @@ public class WsPushServiceImpl implements WsPushService {
      */
     @Override
     public void pushToRoom(String roomId, WsMessage<?> message) {
-        sendToSessions(sessionRegistry.getByRoomId(roomId), message);
+        if (sessionRegistry.viewByRoomId(roomId).isEmpty()) {
+            return;
+        }
+        pushToRoom(roomId, encode(message));
     }
 
     /**
@@ -56,35 +70,53 @@ public class WsPushServiceImpl implements WsPushService {
      */
     @Override
     public void broadcast(WsMessage<?> message) {
-        sendToSessions(sessionRegistry.getAllSessions(), message);
+        if (sessionRegistry.viewAllSessions().isEmpty()) {
+            return;
+        }
+        broadcast(encode(message));
     }
 
     /**
-     * 给指定会话集合发送消息
+     * 将消息编码为 UTF-8 共享帧
      */
-    private void sendToSessions(Set<WebSocketSession> sessions, WsMessage<?> message) {
-        if (sessions == null || sessions.isEmpty()) {
-            return;
-        }
-        String payload;
+    @Override
+    public TextMessage encode(WsMessage<?> message) {
         try {
-            // 将消息转成 JSON字符串
-            payload = objectMapper.writeValueAsString(message);
+            // 直接序列化为 UTF-8 字节，不经过中间字符串
+            return new TextMessage(objectMapper.writeValueAsBytes(message));
         } catch (IOException e) {
             log.error("WebSocket 消息序列化失败", e);
-            return;
+            return null;
+        }
+    }
+
+    /**
+     * 推送共享帧给指定用户的所有连接
+     */
+    @Override
+    public void pushToUser(String userId, TextMessage frame) {
+        if (frame != null) {
+            sessionRegistry.forEachByUserId(userId, session -> outboundDispatcher.send(session, frame));
+        }
+    }
+
+    /**
+     * 推送共享帧给指定房间内所有已 join 的连接
+     */
+    @Override
+    public void pushToRoom(String roomId, TextMessage frame) {
+        if (frame != null) {
+            sessionRegistry.forEachByRoomId(roomId, session -> outboundDispatcher.send(session, frame));
         }
-        for (WebSocketSession session : sessions) {
-            if (!session.isOpen()) {
-                continue;
-            }
-            try {
-                // 推送消息
-                session.sendMessage(new TextMessage(payload));
-            } catch (IOException e) {
-                log.warn("WebSocket 消息推送失败, sessionId={}", session.getId(), e);
-            }
+    }
+
+    /**
+     * 广播共享帧给当前注册表中的全部会话
+     */
+    @Override
+    public void broadcast(TextMessage frame) {
+        if (frame != null) {
+            sessionRegistry.forEachSession(session -> outboundDispatcher.send(session, frame));
         }
     }
 }
-
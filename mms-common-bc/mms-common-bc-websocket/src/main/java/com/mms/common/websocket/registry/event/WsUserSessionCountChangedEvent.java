@@ -0,0 +1,29 @@
+package com.mms.common.websocket.registry.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * WebSocket 用户连接数变化事件（会话注册/注销后，该用户的连接数发生变化时发布）。
+ */
+@Data
+@AllArgsConstructor
+public class WsUserSessionCountChangedEvent {
+    private final String userId;
+    private final int previousCount;
+    private final int currentCount;
+
+    /**
+     * 是否为上线（连接数从 0 变为正数）
+     */
+    public boolean isOnline() {
+        return previousCount <= 0 && currentCount > 0;
+    }
+
+    /**
+     * 是否为离线（连接数降为 0）
+     */
+    public boolean isOffline() {
+        return previousCount > 0 && currentCount <= 0;
+    }
+}
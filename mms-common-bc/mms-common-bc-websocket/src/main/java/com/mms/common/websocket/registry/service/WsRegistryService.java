@@ -1,14 +1,24 @@
 package com.mms.common.websocket.registry.service;
 
+import com.mms.common.websocket.common.constants.WebSocketConstants;
 import com.mms.common.websocket.common.session.WsSessionPrincipal;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * 实现功能【WebSocket 会话注册表接口】
  * <p>
  * 维护 user/room 与连接之间的路由关系。
+ * getByXxx 返回快照副本，适合需要稳定结果的调用方；
+ * viewXxx / forEachXxx 直接遍历底层并发集合，不产生副本，适合推送、统计等高频路径
+ * （弱一致：遍历期间的注册/注销可能可见也可能不可见）。
  * </p>
  *
  * @author li.hongyu
@@ -27,20 +37,85 @@ public interface WsRegistryService {
     void unregister(WebSocketSession session);
 
     /**
-     * 按用户 ID 查询当前所有活跃连接
+     * 按用户 ID 查询当前所有活跃连接（快照副本）
      */
     Set<WebSocketSession> getByUserId(String userId);
 
     /**
-     * 按房间 ID 查询该房间内所有连接
+     * 按房间 ID 查询该房间内所有连接（快照副本）
      */
     Set<WebSocketSession> getByRoomId(String roomId);
 
     /**
-     * 返回当前已注册的全部会话
+     * 返回当前已注册的全部会话（快照副本）
      */
     Set<WebSocketSession> getAllSessions();
 
+    /**
+     * 按用户 ID 返回只读视图（不复制，仅用于当次遍历，不要长期持有）
+     */
+    default Collection<WebSocketSession> viewByUserId(String userId) {
+        return Collections.unmodifiableSet(getByUserId(userId));
+    }
+
+    /**
+     * 按房间 ID 返回只读视图（不复制，仅用于当次遍历，不要长期持有）
+     */
+    default Collection<WebSocketSession> viewByRoomId(String roomId) {
+        return Collections.unmodifiableSet(getByRoomId(roomId));
+    }
+
+    /**
+     * 返回全部会话的只读视图（不复制）
+     */
+    default Collection<WebSocketSession> viewAllSessions() {
+        return Collections.unmodifiableSet(getAllSessions());
+    }
+
+    /**
+     * 遍历指定用户的所有连接
+     */
+    default void forEachByUserId(String userId, Consumer<? super WebSocketSession> action) {
+        viewByUserId(userId).forEach(action);
+    }
+
+    /**
+     * 遍历指定房间内的所有连接
+     */
+    default void forEachByRoomId(String roomId, Consumer<? super WebSocketSession> action) {
+        viewByRoomId(roomId).forEach(action);
+    }
+
+    /**
+     * 遍历全部会话
+     */
+    default void forEachSession(Consumer<? super WebSocketSession> action) {
+        viewAllSessions().forEach(action);
+    }
+
+    /**
+     * 指定用户当前的连接数
+     */
+    default int countByUserId(String userId) {
+        return viewByUserId(userId).size();
+    }
+
+    /**
+     * 遍历当前在线用户及其连接数（userId, 连接数）
+     * 默认按会话属性中的用户ID分组统计全部会话
+     */
+    default void forEachOnlineUser(BiConsumer<String, Integer> action) {
+        Map<String, Integer> countMap = new HashMap<>();
+        forEachSession(session -> {
+            Object userIdAttr = session.getAttributes().get(WebSocketConstants.WS_USER_ID);
+            String userId = userIdAttr == null ? "" : String.valueOf(userIdAttr).trim();
+            if (!userId.isEmpty()) {
+                countMap.merge(userId, 1, Integer::sum);
+            }
+        });
+        countMap.forEach(action);
+    }
+
     /**
      * 将会话加入指定房间
      */
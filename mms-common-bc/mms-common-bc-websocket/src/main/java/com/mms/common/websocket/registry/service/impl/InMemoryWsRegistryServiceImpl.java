@@ -6,21 +6,28 @@ import com.mms.common.websocket.registry.event.WsRoomJoinedEvent;
 import com.mms.common.websocket.registry.event.WsRoomLeftEvent;
 import com.mms.common.websocket.registry.event.WsSessionRegisteredEvent;
 import com.mms.common.websocket.registry.event.WsSessionUnregisteredEvent;
+import com.mms.common.websocket.registry.event.WsUserSessionCountChangedEvent;
 import com.mms.common.websocket.common.session.WsSessionPrincipal;
 import lombok.AllArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 import org.springframework.web.socket.WebSocketSession;
 
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * 实现功能【内存版 WebSocket 会话注册表】
  * <p>
  * 单机模式默认实现，后续可按相同接口替换为分布式实现
+ * user/room 索引直接保存会话对象（同一个装饰后的实例），视图与遍历方法无需按 sessionId 回查，也不产生副本；
+ * 用户连接数在 user 索引的 compute 内原子增减，连接数变化时发布 {@link WsUserSessionCountChangedEvent}，
+ * 监听方无需全量扫描会话即可感知上线/离线
  * </p>
  *
  * @author li.hongyu
@@ -37,13 +44,13 @@ public class InMemoryWsRegistryServiceImpl implements WsRegistryService {
      */
     private final ConcurrentHashMap<String, WebSocketSession> sessionMap = new ConcurrentHashMap<>();
     /**
-     * 用户会话注册表（userId → 该用户下所有连接 sessionId）
+     * 用户会话注册表（userId → 该用户下所有连接）
      */
-    private final ConcurrentHashMap<String, Set<String>> userSessionIds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
     /**
-     * 房间会话注册表（roomId → 房间内所有连接 sessionId）
+     * 房间会话注册表（roomId → 房间内所有连接）
      */
-    private final ConcurrentHashMap<String, Set<String>> roomSessionIds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<WebSocketSession>> roomSessions = new ConcurrentHashMap<>();
     /**
      * 反向索引（sessionId → userId）
      */
@@ -64,11 +71,13 @@ public class InMemoryWsRegistryServiceImpl implements WsRegistryService {
         WebSocketSession safeSession = decorateSafeSession(session);
         // 注册会话
         sessionMap.put(sessionId, safeSession);
+        String userId = null;
+        int[] counts = null;
         if (principal != null && principal.getUserId() != null && !principal.getUserId().isBlank()) {
             // 获取用户ID
-            String userId = principal.getUserId();
-            // 将会话注册到用户
-            userSessionIds.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(sessionId);
+            userId = principal.getUserId();
+            // 将会话注册到用户（同时得到连接数变化）
+            counts = addUserSession(userId, safeSession);
             // 添加反向索引
             sessionUserId.put(sessionId, userId);
             sessionRooms.computeIfAbsent(sessionId, key -> ConcurrentHashMap.newKeySet());
@@ -79,6 +88,7 @@ public class InMemoryWsRegistryServiceImpl implements WsRegistryService {
         } catch (Exception ignored) {
             // 忽略事件处理异常避免破坏 WebSocket 核心流程
         }
+        publishUserSessionCountChanged(userId, counts);
     }
 
     /**
@@ -91,28 +101,23 @@ public class InMemoryWsRegistryServiceImpl implements WsRegistryService {
         // 获取 user 反向索引
         String userIdForCallback = sessionUserId.get(sessionId);
         // 移除会话
-        sessionMap.remove(sessionId);
+        WebSocketSession safeSession = sessionMap.remove(sessionId);
         // 清理 user 反向索引
         String userId = sessionUserId.remove(sessionId);
-        // 清理用户会话注册表
-        if (userId != null && !userId.isBlank()) {
-            userSessionIds.computeIfPresent(userId, (key, set) -> {
-                set.remove(sessionId);
-                return set.isEmpty() ? null : set;
-            });
+        // 清理用户会话注册表（同时得到连接数变化）
+        int[] counts = null;
+        if (safeSession != null && userId != null && !userId.isBlank()) {
+            counts = removeUserSession(userId, safeSession);
         }
         // 清理 room 反向索引
         Set<String> rooms = sessionRooms.remove(sessionId);
         // 清理房间会话注册表
-        if (rooms != null && !rooms.isEmpty()) {
+        if (safeSession != null && rooms != null && !rooms.isEmpty()) {
             for (String roomId : rooms) {
                 if (roomId == null || roomId.isBlank()) {
                     continue;
                 }
-                roomSessionIds.computeIfPresent(roomId, (key, set) -> {
-                    set.remove(sessionId);
-                    return set.isEmpty() ? null : set;
-                });
+                removeFromIndex(roomSessions, roomId, safeSession);
             }
         }
         // 发布会话注销完成事件（异常不影响 WebSocket 核心流程）
@@ -121,54 +126,96 @@ public class InMemoryWsRegistryServiceImpl implements WsRegistryService {
         } catch (Exception ignored) {
             // 忽略事件处理异常避免破坏 WebSocket 核心流程
         }
+        publishUserSessionCountChanged(userId, counts);
     }
 
     /**
-     * 根据 userId 获取此用户的所有会话
+     * 根据 userId 获取此用户的所有会话（快照副本）
      */
     @Override
     public Set<WebSocketSession> getByUserId(String userId) {
-        Set<String> ids = userSessionIds.get(userId);
-        if (ids == null || ids.isEmpty()) {
-            return Collections.emptySet();
-        }
-        Set<WebSocketSession> result = new HashSet<>();
-        for (String sessionId : ids) {
-            WebSocketSession session = sessionMap.get(sessionId);
-            if (session != null) {
-                result.add(session);
-            }
-        }
-        return result;
+        Set<WebSocketSession> sessions = userSessions.get(userId);
+        return sessions == null || sessions.isEmpty() ? Collections.emptySet() : new HashSet<>(sessions);
     }
 
     /**
-     * 根据 roomId 获取此房间内的所有会话
+     * 根据 roomId 获取此房间内的所有会话（快照副本）
      */
     @Override
     public Set<WebSocketSession> getByRoomId(String roomId) {
-        Set<String> ids = roomSessionIds.get(roomId);
-        if (ids == null || ids.isEmpty()) {
-            return Collections.emptySet();
-        }
-        Set<WebSocketSession> result = new HashSet<>();
-        for (String sessionId : ids) {
-            WebSocketSession session = sessionMap.get(sessionId);
-            if (session != null) {
-                result.add(session);
-            }
-        }
-        return result;
+        Set<WebSocketSession> sessions = roomSessions.get(roomId);
+        return sessions == null || sessions.isEmpty() ? Collections.emptySet() : new HashSet<>(sessions);
     }
 
     /**
-     * 获取所有会话
+     * 获取所有会话（快照副本）
      */
     @Override
     public Set<WebSocketSession> getAllSessions() {
         return Set.copyOf(sessionMap.values());
     }
 
+    /**
+     * 根据 userId 获取此用户所有会话的只读视图
+     */
+    @Override
+    public Collection<WebSocketSession> viewByUserId(String userId) {
+        return unmodifiableView(userSessions.get(userId));
+    }
+
+    /**
+     * 根据 roomId 获取此房间内所有会话的只读视图
+     */
+    @Override
+    public Collection<WebSocketSession> viewByRoomId(String roomId) {
+        return unmodifiableView(roomSessions.get(roomId));
+    }
+
+    /**
+     * 获取所有会话的只读视图
+     */
+    @Override
+    public Collection<WebSocketSession> viewAllSessions() {
+        return Collections.unmodifiableCollection(sessionMap.values());
+    }
+
+    @Override
+    public void forEachByUserId(String userId, Consumer<? super WebSocketSession> action) {
+        forEachIn(userSessions.get(userId), action);
+    }
+
+    @Override
+    public void forEachByRoomId(String roomId, Consumer<? super WebSocketSession> action) {
+        forEachIn(roomSessions.get(roomId), action);
+    }
+
+    @Override
+    public void forEachSession(Consumer<? super WebSocketSession> action) {
+        sessionMap.values().forEach(action);
+    }
+
+    /**
+     * 获取指定用户当前的连接数
+     */
+    @Override
+    public int countByUserId(String userId) {
+        Set<WebSocketSession> sessions = userSessions.get(userId);
+        return sessions == null ? 0 : sessions.size();
+    }
+
+    /**
+     * 遍历当前在线用户及其连接数
+     */
+    @Override
+    public void forEachOnlineUser(BiConsumer<String, Integer> action) {
+        userSessions.forEach((userId, sessions) -> {
+            int count = sessions.size();
+            if (count > 0) {
+                action.accept(userId, count);
+            }
+        });
+    }
+
     /**
      * 将指定会话加入指定房间
      */
@@ -178,10 +225,24 @@ public class InMemoryWsRegistryServiceImpl implements WsRegistryService {
             return;
         }
         String sessionId = session.getId();
+        // 房间索引保存注册表中装饰后的会话，未注册的会话不允许加入房间
+        WebSocketSession safeSession = sessionMap.get(sessionId);
+        if (safeSession == null) {
+            return;
+        }
         // 添加反向索引
         sessionRooms.computeIfAbsent(sessionId, key -> ConcurrentHashMap.newKeySet()).add(roomId);
         // 将会话注册到房间
-        roomSessionIds.computeIfAbsent(roomId, key -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        addToIndex(roomSessions, roomId, safeSession);
+        // 加入期间会话已注销：注销先移除 sessionMap 再清理索引，此时可能已错过刚写入的索引，需自行回滚
+        if (sessionMap.get(sessionId) != safeSession) {
+            removeFromIndex(roomSessions, roomId, safeSession);
+            sessionRooms.computeIfPresent(sessionId, (key, set) -> {
+                set.remove(roomId);
+                return set.isEmpty() ? null : set;
+            });
+            return;
+        }
         // 发布加入房间完成事件（异常不影响 WebSocket 核心流程）
         String userId = sessionUserId.get(sessionId);
         try {
@@ -201,10 +262,10 @@ public class InMemoryWsRegistryServiceImpl implements WsRegistryService {
         }
         String sessionId = session.getId();
         // 从该房间移除这个会话
-        roomSessionIds.computeIfPresent(roomId, (key, set) -> {
-            set.remove(sessionId);
-            return set.isEmpty() ? null : set;
-        });
+        WebSocketSession safeSession = sessionMap.get(sessionId);
+        if (safeSession != null) {
+            removeFromIndex(roomSessions, roomId, safeSession);
+        }
         // 清理 room 反向索引
         sessionRooms.computeIfPresent(sessionId, (key, set) -> {
             set.remove(roomId);
@@ -228,5 +289,80 @@ public class InMemoryWsRegistryServiceImpl implements WsRegistryService {
         }
         return new ConcurrentWebSocketSessionDecorator(session, properties.getSendTimeLimitMs(), properties.getSendBufferSizeBytes());
     }
-}
 
+    /**
+     * 将会话注册到用户，返回 [变化前连接数, 变化后连接数]，未发生变化时返回 null
+     */
+    private int[] addUserSession(String userId, WebSocketSession session) {
+        int[] counts = new int[2];
+        boolean[] changed = new boolean[1];
+        userSessions.compute(userId, (key, set) -> {
+            Set<WebSocketSession> sessions = set != null ? set : ConcurrentHashMap.newKeySet();
+            counts[0] = sessions.size();
+            changed[0] = sessions.add(session);
+            counts[1] = sessions.size();
+            return sessions;
+        });
+        return changed[0] ? counts : null;
+    }
+
+    /**
+     * 将会话移出用户，返回 [变化前连接数, 变化后连接数]，未发生变化时返回 null
+     */
+    private int[] removeUserSession(String userId, WebSocketSession session) {
+        int[] counts = new int[2];
+        boolean[] changed = new boolean[1];
+        userSessions.computeIfPresent(userId, (key, set) -> {
+            counts[0] = set.size();
+            changed[0] = set.remove(session);
+            counts[1] = set.size();
+            return set.isEmpty() ? null : set;
+        });
+        return changed[0] ? counts : null;
+    }
+
+    /**
+     * 发布用户连接数变化事件（异常不影响 WebSocket 核心流程）
+     */
+    private void publishUserSessionCountChanged(String userId, int[] counts) {
+        if (userId == null || counts == null) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(new WsUserSessionCountChangedEvent(userId, counts[0], counts[1]));
+        } catch (Exception ignored) {
+            // 忽略事件处理异常避免破坏 WebSocket 核心流程
+        }
+    }
+
+    /**
+     * 将会话加入索引（在 compute 内完成，避免与移除空集合的操作交错导致写入已被丢弃的集合）
+     */
+    private static void addToIndex(ConcurrentHashMap<String, Set<WebSocketSession>> index, String key, WebSocketSession session) {
+        index.compute(key, (k, set) -> {
+            Set<WebSocketSession> sessions = set != null ? set : ConcurrentHashMap.newKeySet();
+            sessions.add(session);
+            return sessions;
+        });
+    }
+
+    /**
+     * 将会话移出索引，集合为空时移除该 key
+     */
+    private static void removeFromIndex(ConcurrentHashMap<String, Set<WebSocketSession>> index, String key, WebSocketSession session) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(session);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static Collection<WebSocketSession> unmodifiableView(Set<WebSocketSession> sessions) {
+        return sessions == null ? Collections.emptySet() : Collections.unmodifiableSet(sessions);
+    }
+
+    private static void forEachIn(Set<WebSocketSession> sessions, Consumer<? super WebSocketSession> action) {
+        if (sessions != null) {
+            sessions.forEach(action);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.mms.gateway.config;
 
 import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.gateway.properties.LocalRateLimiterProperties;
+import com.mms.gateway.ratelimit.LocalRateLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ConfigurationService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Mono;
 
@@ -13,12 +21,14 @@ import java.net.InetSocketAddress;
  * 实现功能【网关限流配置】
  * <p>
  * 限流键优先使用用户ID，未登录请求回退为客户端IP。
+ * 开启 gateway.rate-limiter.local.enabled 后使用进程内令牌桶替代 Redis 限流。
  * </p>
  *
  * @author li.hongyu
  * @date 2026-03-25 16:00:00
  */
 @Configuration
+@EnableConfigurationProperties(LocalRateLimiterProperties.class)
 public class RateLimitConfig {
 
     /**
@@ -39,4 +49,19 @@ public class RateLimitConfig {
             return Mono.just("ip:" + ip);
         };
     }
+
+    /**
+     * 本地令牌桶限流器
+     * <p>
+     * 标记为 @Primary，成为 RequestRateLimiter 的默认限流器，路由参数优先读取 local-rate-limiter.*，未配置时沿用 redis-rate-limiter.*
+     * </p>
+     */
+    @Bean("localRateLimiter")
+    @Primary
+    @ConditionalOnProperty(prefix = "gateway.rate-limiter.local", name = "enabled", havingValue = "true")
+    public LocalRateLimiter localRateLimiter(ConfigurationService configurationService,
+                                             LocalRateLimiterProperties properties,
+                                             ObjectProvider<ReactiveStringRedisTemplate> reactiveStringRedisTemplate) {
+        return new LocalRateLimiter(configurationService, properties, reactiveStringRedisTemplate.getIfAvailable());
+    }
 }
@@ -1,6 +1,8 @@
 package com.mms.gateway.filter;
 
 import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.gateway.service.IpRegionService;
+import jakarta.annotation.Resource;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -11,6 +13,8 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.net.InetSocketAddress;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 
 /**
  * 实现功能【客户端IP提取过滤器】
@@ -18,7 +22,7 @@ import java.net.InetSocketAddress;
  * 从请求中提取客户端相关信息并放入请求头，透传到下游服务：
  * - 真实客户端IP（处理代理场景，放入 X-Client-Ip）
  * - 用户代理/浏览器信息（放入 X-User-Agent）
- * - 登录地点（基于IP地址解析，放入 X-Login-Location）
+ * - 登录地点（基于本地离线IP库解析，URL 编码后放入 X-Login-Location）
  * 所有请求都经过此过滤器（包括登录接口）
  * </p>
  *
@@ -28,6 +32,10 @@ import java.net.InetSocketAddress;
 @Component
 public class ClientInfoFilter implements GlobalFilter, Ordered {
 
+    // IP 归属地解析服务
+    @Resource
+    private IpRegionService ipRegionService;
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
@@ -38,7 +46,7 @@ public class ClientInfoFilter implements GlobalFilter, Ordered {
         // 提取用户代理（浏览器信息）
         String userAgent = getUserAgent(request);
         
-        // 提取登录地点（通过IP解析，暂时为null，后续可接入IP解析服务）
+        // 提取登录地点（通过本地离线IP库解析）
         String loginLocation = getLoginLocation(clientIp);
         
         // 将信息放入请求头，透传到下游服务
@@ -108,23 +116,19 @@ public class ClientInfoFilter implements GlobalFilter, Ordered {
     /**
      * 获取登录地点（通过IP地址解析）
      * <p>
-     * 注意：IP地址解析需要第三方服务或IP地址库，这里暂时返回null
-     * 后续可以接入IP解析服务（如：高德地图API、百度地图API、ip2region等）
+     * 使用本地离线 ip2region 数据库解析，无网络请求，可在事件循环线程上执行。
+     * 请求头只能安全承载 ASCII，地点含中文，因此按 UTF-8 做 URL 编码，下游读取时解码。
      * </p>
      *
      * @param clientIp 客户端IP地址
-     * @return 登录地点，如果无法解析则返回null
+     * @return 登录地点（URL 编码），如果无法解析则返回空字符串
      */
     private String getLoginLocation(String clientIp) {
-        // TODO: 接入IP地址解析服务
-        // 可以使用：
-        // 1. ip2region（本地IP地址库，速度快，但需要定期更新）
-        // 2. 高德地图API（需要网络请求，有调用次数限制）
-        // 3. 百度地图API（需要网络请求，有调用次数限制）
-        // 4. 其他IP解析服务
-        
-        // 暂时返回空字符串，后续实现
-        return "";
+        String location = ipRegionService.search(clientIp);
+        if (!StringUtils.hasText(location)) {
+            return "";
+        }
+        return URLEncoder.encode(location, StandardCharsets.UTF_8);
     }
 
     @Override
@@ -91,7 +91,7 @@ public class JwtAuthFilter implements GlobalFilter, Ordered {
                 String jti = claims.getId();
                 // 从 Token 中获取 expiration（Token 过期时间）
                 Date expiration = claims.getExpiration();
-                // 生成网关签名（使用RSA私钥）
+                // 生成网关签名（按配置的签名算法）
                 String[] signatureResult = gatewaySignatureService.generateSignature(userId, username, jti);
                 String signature = signatureResult[0];
                 String timestamp = signatureResult[1];
@@ -0,0 +1,34 @@
+package com.mms.gateway.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 实现功能【IP 归属地解析配置属性】
+ * <p>
+ * 使用本地离线 ip2region xdb 数据库解析登录地点，不发起任何网络请求
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 17:12:33
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.ip-region")
+public class IpRegionProperties {
+
+    /**
+     * 是否开启，默认开启（未配置 dbPath 时只识别内网IP）
+     */
+    private boolean enabled = true;
+
+    /**
+     * xdb 数据库位置，支持 file: 与 classpath: 前缀
+     * 文件系统路径会以内存映射方式加载，classpath 资源会整体读入堆内存
+     */
+    private String dbPath;
+
+    /**
+     * 热点 IP 解析结果缓存条数，默认 4096
+     */
+    private long cacheSize = 4096L;
+}
@@ -0,0 +1,60 @@
+package com.mms.gateway.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【网关本地限流配置属性】
+ * <p>
+ * 开启后注册 localRateLimiter 并作为 RequestRateLimiter 的默认限流器，
+ * 路由参数使用 local-rate-limiter.* 前缀（与 redis-rate-limiter.* 含义一致），未配置时沿用 redis-rate-limiter.*
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 17:46:20
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.rate-limiter.local")
+public class LocalRateLimiterProperties {
+
+    /**
+     * 是否开启本地限流，默认关闭（沿用 Redis 限流）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 令牌桶空闲多久后回收，默认 5 分钟（应大于 burstCapacity / replenishRate，否则回收会提前“补满”令牌）
+     */
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    /**
+     * 最多保留的令牌桶数量，默认 100000
+     */
+    private long maximumBuckets = 100_000L;
+
+    /**
+     * 集群同步配置
+     */
+    private ClusterSync clusterSync = new ClusterSync();
+
+    @Data
+    public static class ClusterSync {
+
+        /**
+         * 是否把本节点放行数量异步汇总到 Redis，并按其他节点的消耗扣减本地令牌，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 同步间隔，默认 500 毫秒
+         */
+        private Duration interval = Duration.ofMillis(500);
+
+        /**
+         * Redis 计数 key 的过期时间，默认 1 分钟
+         */
+        private Duration counterTtl = Duration.ofMinutes(1);
+    }
+}
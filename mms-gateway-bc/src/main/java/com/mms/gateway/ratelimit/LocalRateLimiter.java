@@ -0,0 +1,334 @@
+package com.mms.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mms.common.cache.constants.CacheKeyPrefixConstants;
+import com.mms.gateway.properties.LocalRateLimiterProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.event.FilterArgsEvent;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.route.RouteDefinitionRouteLocator;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 实现功能【网关本地令牌桶限流器】
+ * <p>
+ * 作为 Redis RequestRateLimiter 的替代：令牌桶保存在进程内，每次判定只做一次 CAS，不访问 Redis。
+ * 1. 每个 (路由, 限流key) 一个桶，key 来自 ipOrUserKeyResolver；桶存放在 Caffeine 中（内部分段，无全局锁），空闲超时后回收；
+ * 2. 桶状态只有一个 long（GCRA 的“理论到达时间”），取令牌即 CAS 推进该时间，语义等价于 replenishRate/burstCapacity 的令牌桶；
+ * 3. 可选集群同步：定期把本节点放行数累加到 Redis 计数，并按其他节点的增量扣减本地令牌，
+ * 全程异步、不在请求链路上，得到的是近似的集群级公平；
+ * 4. 路由参数优先读取 local-rate-limiter.*，未配置时回退读取 redis-rate-limiter.*，开启本地限流无需改动路由配置。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 17:52:08
+ */
+@Slf4j
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    /**
+     * 路由参数前缀，对应 local-rate-limiter.replenishRate 等
+     */
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    /**
+     * 集群计数 key 前缀
+     */
+    public static final String CLUSTER_COUNTER_PREFIX = CacheKeyPrefixConstants.GATEWAY + "rate-limit:";
+
+    /**
+     * 集群同步时对 Redis 的最大并发请求数
+     */
+    private static final int SYNC_CONCURRENCY = 64;
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConfigurationService configurationService;
+
+    private final LocalRateLimiterProperties properties;
+
+    /**
+     * 为 null 时不做集群同步
+     */
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    private final Cache<String, Bucket> buckets;
+
+    private Disposable syncSubscription;
+
+    public LocalRateLimiter(ConfigurationService configurationService,
+                            LocalRateLimiterProperties properties,
+                            ReactiveStringRedisTemplate reactiveStringRedisTemplate) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.configurationService = configurationService;
+        this.properties = properties;
+        this.reactiveStringRedisTemplate = properties.getClusterSync().isEnabled() ? reactiveStringRedisTemplate : null;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getIdleTimeout())
+                .maximumSize(properties.getMaximumBuckets())
+                .build();
+    }
+
+    /**
+     * 启动集群同步任务
+     */
+    @PostConstruct
+    public void startClusterSync() {
+        if (reactiveStringRedisTemplate == null) {
+            return;
+        }
+        syncSubscription = Flux.interval(properties.getClusterSync().getInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> syncToCluster(), 1)
+                .subscribe();
+        log.info("网关本地限流已开启集群同步，间隔: {}", properties.getClusterSync().getInterval());
+    }
+
+    /**
+     * 停止集群同步任务
+     */
+    @PreDestroy
+    public void stopClusterSync() {
+        if (syncSubscription != null) {
+            syncSubscription.dispose();
+        }
+    }
+
+    /**
+     * 绑定路由参数：存在 local-rate-limiter.* 时按父类逻辑绑定，
+     * 否则回退绑定 redis-rate-limiter.*（两者参数名与含义一致），避免仍是 Redis 限流配置的路由在每次请求时找不到配置
+     */
+    @Override
+    public void onApplicationEvent(FilterArgsEvent event) {
+        Map<String, Object> args = event.getArgs();
+        if (hasKeyWithPrefix(args, CONFIGURATION_PROPERTY_NAME)) {
+            super.onApplicationEvent(event);
+            return;
+        }
+        if (!hasKeyWithPrefix(args, RedisRateLimiter.CONFIGURATION_PROPERTY_NAME)) {
+            return;
+        }
+        Config routeConfig = newConfig();
+        configurationService.with(routeConfig)
+                .name(RedisRateLimiter.CONFIGURATION_PROPERTY_NAME)
+                .normalizedProperties(args)
+                .bind();
+        getConfig().put(event.getRouteId(), routeConfig);
+        log.info("网关本地限流沿用 redis-rate-limiter 路由参数: routeId={}, replenishRate={}, burstCapacity={}, requestedTokens={}",
+                event.getRouteId(), routeConfig.getReplenishRate(), routeConfig.getBurstCapacity(),
+                routeConfig.getRequestedTokens());
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = loadConfiguration(routeId);
+        long interval = config.intervalNanos();
+        long capacity = config.getBurstCapacity() * interval;
+        long cost = config.getRequestedTokens() * interval;
+        long now = System.nanoTime();
+
+        Bucket bucket = buckets.get(routeId + ":" + id, key -> new Bucket(key, routeId, now));
+        long remaining = bucket.tryAcquire(now, cost, capacity, interval);
+        boolean allowed = remaining >= 0;
+        if (allowed && reactiveStringRedisTemplate != null) {
+            bucket.unsynced.addAndGet(config.getRequestedTokens());
+        }
+        return Mono.just(new Response(allowed, headers(config, Math.max(remaining, 0))));
+    }
+
+    /**
+     * 获取路由配置，未单独配置时回退到 default-filters
+     */
+    private Config loadConfiguration(String routeId) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            config = getConfig().get(RouteDefinitionRouteLocator.DEFAULT_FILTERS);
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("No Configuration found for route " + routeId + " or defaultFilters");
+        }
+        return config;
+    }
+
+    private static boolean hasKeyWithPrefix(Map<String, Object> args, String name) {
+        String prefix = name + ".";
+        for (String key : args.keySet()) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, String> headers(Config config, long remaining) {
+        return Map.of(
+                RedisRateLimiter.REMAINING_HEADER, String.valueOf(remaining),
+                RedisRateLimiter.REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                RedisRateLimiter.BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+                RedisRateLimiter.REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+    }
+
+    /**
+     * 把有放行增量的桶同步到 Redis，并按其他节点的增量扣减本地令牌
+     */
+    private Mono<Void> syncToCluster() {
+        return Flux.fromIterable(buckets.asMap().values())
+                .filter(bucket -> bucket.unsynced.get() > 0)
+                .flatMap(this::syncBucket, SYNC_CONCURRENCY)
+                .then()
+                .onErrorResume(e -> {
+                    log.debug("网关本地限流集群同步失败: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> syncBucket(Bucket bucket) {
+        long delta = bucket.unsynced.getAndSet(0);
+        String key = CLUSTER_COUNTER_PREFIX + bucket.key;
+        return reactiveStringRedisTemplate.opsForValue().increment(key, delta)
+                .flatMap(total -> {
+                    // 本次创建了计数 key 时设置过期，持续活跃的 key 到期后自然重建
+                    Mono<Boolean> expire = total == delta
+                            ? reactiveStringRedisTemplate.expire(key, properties.getClusterSync().getCounterTtl())
+                            : Mono.just(Boolean.TRUE);
+                    return expire.thenReturn(total);
+                })
+                .doOnNext(total -> applyClusterTotal(bucket, delta, total))
+                .onErrorResume(e -> {
+                    log.debug("网关本地限流同步计数失败, key: {}, 原因: {}", key, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * 计数差值减去本节点增量即为其他节点在此期间的放行数
+     */
+    private void applyClusterTotal(Bucket bucket, long delta, long total) {
+        long previous = bucket.lastClusterTotal;
+        bucket.lastClusterTotal = total;
+        // 首次同步或计数 key 已过期重建时只记录基线
+        if (previous < 0 || total < previous + delta) {
+            return;
+        }
+        long others = total - previous - delta;
+        if (others <= 0) {
+            return;
+        }
+        Config config = getConfig().get(bucket.routeId);
+        if (config == null) {
+            config = getConfig().get(RouteDefinitionRouteLocator.DEFAULT_FILTERS);
+        }
+        if (config == null) {
+            return;
+        }
+        long interval = config.intervalNanos();
+        bucket.drain(System.nanoTime(), others * interval, config.getBurstCapacity() * interval);
+    }
+
+    /**
+     * 令牌桶（GCRA）
+     * <p>
+     * tat 为“理论到达时间”：桶内令牌数 = (now + capacity - tat) / interval，
+     * 取令牌即把 tat 向后推进 cost，推进后超出 now + capacity 则拒绝
+     * </p>
+     */
+    private static final class Bucket {
+
+        private final String key;
+
+        private final String routeId;
+
+        private final AtomicLong tat;
+
+        /**
+         * 尚未同步到 Redis 的放行令牌数
+         */
+        private final AtomicLong unsynced = new AtomicLong();
+
+        /**
+         * 上次同步得到的集群计数，-1 表示尚未同步
+         */
+        private volatile long lastClusterTotal = -1L;
+
+        private Bucket(String key, String routeId, long now) {
+            this.key = key;
+            this.routeId = routeId;
+            this.tat = new AtomicLong(now);
+        }
+
+        /**
+         * 尝试取令牌
+         *
+         * @return 放行时返回剩余令牌数，拒绝时返回 -1
+         */
+        private long tryAcquire(long now, long cost, long capacity, long interval) {
+            while (true) {
+                long current = tat.get();
+                long next = Math.max(current, now) + cost;
+                long used = next - now;
+                if (used > capacity) {
+                    return -1L;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    return (capacity - used) / interval;
+                }
+            }
+        }
+
+        /**
+         * 扣减其他节点消耗的令牌，最多扣空
+         */
+        private void drain(long now, long cost, long capacity) {
+            tat.updateAndGet(current -> Math.min(Math.max(current, now) + cost, now + capacity));
+        }
+    }
+
+    /**
+     * 路由级限流参数，与 redis-rate-limiter 保持一致
+     */
+    @Data
+    @Validated
+    public static class Config {
+
+        /**
+         * 每秒补充的令牌数
+         */
+        @Min(1)
+        private int replenishRate;
+
+        /**
+         * 桶容量
+         */
+        @Min(1)
+        private long burstCapacity = 1L;
+
+        /**
+         * 每个请求消耗的令牌数
+         */
+        @Min(1)
+        private int requestedTokens = 1;
+
+        /**
+         * 补充一个令牌所需的纳秒数
+         */
+        long intervalNanos() {
+            return Math.max(1L, NANOS_PER_SECOND / Math.max(1, replenishRate));
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.mms.gateway.service;
 
 import com.mms.common.security.core.properties.GatewaySignatureProperties;
-import com.mms.common.security.core.utils.GatewaySignatureUtils;
+import com.mms.common.security.core.signature.GatewaySigner;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -9,7 +10,8 @@ import org.springframework.stereotype.Service;
 /**
  * 实现功能【网关签名服务】
  * <p>
- * 网关使用RSA私钥对用户信息进行数字签名
+ * 网关按 gateway.signature.algorithm 对用户信息进行数字签名（默认RSA私钥）
+ * 密钥只解析一次（配置变更时重新解析），Signature / Mac 按线程复用
  * </p>
  *
  * @author li.hongyu
@@ -22,6 +24,13 @@ public class GatewaySignatureService {
     @Resource
     private GatewaySignatureProperties signatureProperties;
 
+    private GatewaySigner gatewaySigner;
+
+    @PostConstruct
+    public void init() {
+        gatewaySigner = new GatewaySigner(signatureProperties);
+    }
+
     /**
      * 生成网关签名
      *
@@ -32,8 +41,7 @@ public class GatewaySignatureService {
      */
     public String[] generateSignature(String userId, String username, String tokenJti) {
         long timestamp = System.currentTimeMillis();
-        String signature = GatewaySignatureUtils.sign(
-                userId, username, tokenJti, timestamp, signatureProperties.getPrivateKey());
+        String signature = gatewaySigner.sign(userId, username, tokenJti, timestamp);
         // 签名生成成功，日志由调用方记录，避免重复日志
         return new String[]{signature, String.valueOf(timestamp)};
     }
@@ -0,0 +1,181 @@
+package com.mms.gateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mms.gateway.properties.IpRegionProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 实现功能【IP 归属地解析服务】
+ * <p>
+ * 基于本地离线 ip2region xdb 数据库解析客户端 IP 的登录地点：
+ * - 数据库启动时加载一次（文件以内存映射方式加载，不占堆内存），查询无网络、无锁、无 IO
+ * - 热点 IP 的解析结果放入有界 LRU 缓存
+ * - 内网/回环地址直接返回“内网IP”，未配置数据库或无法解析时返回空串
+ * 可在网关事件循环线程上直接调用
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 17:12:33
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(IpRegionProperties.class)
+public class IpRegionService {
+
+    /**
+     * 内网地址展示值
+     */
+    public static final String INTRANET = "内网IP";
+
+    private final IpRegionProperties ipRegionProperties;
+
+    private final ResourceLoader resourceLoader;
+
+    private IpRegionXdbSearcher searcher;
+
+    private Cache<String, String> regionCache;
+
+    /**
+     * 加载 xdb 数据库
+     */
+    @PostConstruct
+    public void init() {
+        regionCache = Caffeine.newBuilder()
+                .maximumSize(ipRegionProperties.getCacheSize())
+                .build();
+        String dbPath = ipRegionProperties.getDbPath();
+        if (!ipRegionProperties.isEnabled() || !StringUtils.hasText(dbPath)) {
+            log.info("IP 归属地数据库未配置，登录地点仅识别内网IP");
+            return;
+        }
+        try {
+            searcher = new IpRegionXdbSearcher(load(resourceLoader.getResource(dbPath)));
+            log.info("IP 归属地数据库加载成功: {}", dbPath);
+        } catch (Exception e) {
+            log.warn("IP 归属地数据库加载失败，登录地点仅识别内网IP: path={}, error={}", dbPath, e.getMessage());
+        }
+    }
+
+    /**
+     * 解析 IP 归属地
+     *
+     * @param ip IP地址
+     * @return 归属地（如“中国 广东省 深圳市”），无法解析返回空串
+     */
+    public String search(String ip) {
+        if (!ipRegionProperties.isEnabled() || !StringUtils.hasText(ip)) {
+            return "";
+        }
+        long ipValue = parseIpv4(ip);
+        if (ipValue < 0) {
+            // 暂不支持 IPv6，回环地址按内网处理
+            return "::1".equals(ip) || "0:0:0:0:0:0:0:1".equals(ip) ? INTRANET : "";
+        }
+        if (isIntranet(ipValue)) {
+            return INTRANET;
+        }
+        if (searcher == null) {
+            return "";
+        }
+        return regionCache.get(ip, key -> format(searcher.search(ipValue)));
+    }
+
+    /**
+     * 读取数据库：文件系统资源使用只读内存映射，其他资源（如 jar 内 classpath）读入堆内存
+     */
+    private ByteBuffer load(Resource resource) throws Exception {
+        if (resource.isFile()) {
+            try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+
+    /**
+     * 将“国家|区域|省份|城市|ISP”格式化为“国家 省份 城市”，跳过缺失（0）与重复字段
+     */
+    private String format(String region) {
+        if (!StringUtils.hasText(region)) {
+            return "";
+        }
+        String[] parts = region.split("\\|");
+        StringBuilder sb = new StringBuilder();
+        String last = null;
+        for (int i = 0; i < parts.length && i < 4; i++) {
+            // 区域字段（大区）不展示
+            if (i == 1) {
+                continue;
+            }
+            String part = parts[i];
+            if (!StringUtils.hasText(part) || "0".equals(part) || part.equals(last)) {
+                continue;
+            }
+            if (!sb.isEmpty()) {
+                sb.append(' ');
+            }
+            sb.append(part);
+            last = part;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 解析 IPv4 字符串为无符号 32 位整数（不走 InetAddress，避免 DNS 解析）
+     *
+     * @return IP 值，非法 IPv4 返回 -1
+     */
+    private static long parseIpv4(String ip) {
+        long result = 0;
+        int octet = -1;
+        int dots = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && octet >= 0 && dots < 3) {
+                result = (result << 8) | octet;
+                octet = -1;
+                dots++;
+            } else {
+                return -1;
+            }
+        }
+        if (dots != 3 || octet < 0) {
+            return -1;
+        }
+        return (result << 8) | octet;
+    }
+
+    /**
+     * 是否为内网/回环/链路本地地址
+     */
+    private static boolean isIntranet(long ip) {
+        long a = ip >>> 24;
+        long b = (ip >>> 16) & 0xFF;
+        return a == 10
+                || a == 127
+                || (a == 172 && b >= 16 && b <= 31)
+                || (a == 192 && b == 168)
+                || (a == 169 && b == 254);
+    }
+}
@@ -0,0 +1,78 @@
+package com.mms.gateway.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 实现功能【ip2region xdb 格式查询器】
+ * <p>
+ * xdb 文件布局（整数均为小端）：
+ * - 头部：256 字节
+ * - 向量索引：256 x 256 个槽位（按 IP 前两段定位），每个槽位 8 字节 = 段索引起始指针 + 结束指针
+ * - 段索引：每条 14 字节 = 起始IP(4) + 结束IP(4) + 区域数据长度(2) + 区域数据指针(4)，按 IP 升序
+ * - 区域数据：UTF-8 字符串，形如 "国家|区域|省份|城市|ISP"，缺失字段为 "0"
+ * 查询先用向量索引把范围缩小到一个 /16，再在段索引上二分，全程只做绝对位置读取，
+ * 因此可在多线程下共享同一个只读 ByteBuffer，且除最终的区域字符串外不产生任何对象。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 17:12:33
+ */
+final class IpRegionXdbSearcher {
+
+    private static final int HEADER_INFO_LENGTH = 256;
+    private static final int VECTOR_INDEX_COLS = 256;
+    private static final int VECTOR_INDEX_SIZE = 8;
+    private static final int SEGMENT_INDEX_SIZE = 14;
+    private static final int MIN_LENGTH = HEADER_INFO_LENGTH + 256 * VECTOR_INDEX_COLS * VECTOR_INDEX_SIZE;
+
+    private final ByteBuffer buffer;
+
+    IpRegionXdbSearcher(ByteBuffer buffer) {
+        if (buffer.capacity() < MIN_LENGTH) {
+            throw new IllegalArgumentException("无效的 xdb 文件：长度不足");
+        }
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 查询 IPv4 对应的区域数据
+     *
+     * @param ip 无符号 32 位 IP
+     * @return 区域数据，未命中返回 null
+     */
+    String search(long ip) {
+        int il0 = (int) ((ip >> 24) & 0xFF);
+        int il1 = (int) ((ip >> 16) & 0xFF);
+        int idx = HEADER_INFO_LENGTH + il0 * VECTOR_INDEX_COLS * VECTOR_INDEX_SIZE + il1 * VECTOR_INDEX_SIZE;
+        long sPtr = buffer.getInt(idx) & 0xFFFFFFFFL;
+        long ePtr = buffer.getInt(idx + 4) & 0xFFFFFFFFL;
+        if (sPtr == 0 || ePtr < sPtr) {
+            return null;
+        }
+
+        long low = 0;
+        long high = (ePtr - sPtr) / SEGMENT_INDEX_SIZE;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int p = (int) (sPtr + mid * SEGMENT_INDEX_SIZE);
+            long startIp = buffer.getInt(p) & 0xFFFFFFFFL;
+            if (ip < startIp) {
+                high = mid - 1;
+                continue;
+            }
+            long endIp = buffer.getInt(p + 4) & 0xFFFFFFFFL;
+            if (ip > endIp) {
+                low = mid + 1;
+                continue;
+            }
+            int dataLen = buffer.getShort(p + 8) & 0xFFFF;
+            int dataPtr = buffer.getInt(p + 10);
+            byte[] data = new byte[dataLen];
+            buffer.get(dataPtr, data);
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,162 @@
+package com.mms.gateway.service;
+
+import com.mms.gateway.properties.IpRegionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 实现功能【IP 归属地解析测试】
+ * <p>
+ * 测试库 ip2region/test-ip2region.xdb 由 script/ip2region-test-xdb-maker.py
+ * 从同目录的 test-ip.merge.txt 生成，只包含少量 IP 段，库外地址均视为未命中。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 23:52:08
+ */
+class IpRegionServiceTest {
+
+    private static final String TEST_DB_PATH = "classpath:ip2region/test-ip2region.xdb";
+
+    private IpRegionService ipRegionService;
+
+    @BeforeEach
+    void setUp() {
+        ipRegionService = newService(true, TEST_DB_PATH);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1.0.0.8, 澳大利亚",
+            "1.0.2.100, 中国 福建省 福州市",
+            "8.8.8.8, 美国",
+            "36.100.1.1, 中国 广东省 深圳市",
+            "58.246.10.10, 中国 上海",
+            "61.139.2.69, 中国 四川省 成都市",
+            "223.5.5.5, 中国 浙江省 杭州市"
+    })
+    void searchKnownIp(String ip, String expected) {
+        assertThat(ipRegionService.search(ip)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // 段的首尾地址
+            "1.0.0.0, 澳大利亚",
+            "1.0.0.255, 澳大利亚",
+            "1.0.1.0, 中国 福建省 福州市",
+            "1.0.3.255, 中国 福建省 福州市",
+            "202.96.128.0, 中国 广东省 广州市",
+            "202.96.191.255, 中国 广东省 广州市",
+            // 跨多个 /16 的段在每个 /16 的边界上都能命中
+            "36.96.0.0, 中国 广东省 深圳市",
+            "36.96.255.255, 中国 广东省 深圳市",
+            "36.97.0.0, 中国 广东省 深圳市",
+            "36.127.255.255, 中国 广东省 深圳市",
+            "58.246.255.255, 中国 上海",
+            "58.247.0.0, 中国 上海"
+    })
+    void searchRangeBoundary(String ip, String expected) {
+        assertThat(ipRegionService.search(ip)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // 紧邻段外
+            "1.0.4.0", "36.95.255.255", "36.128.0.0", "61.139.128.0", "202.96.127.255", "202.96.192.0",
+            // 向量索引槽位为空
+            "0.0.0.0", "100.64.0.1", "255.255.255.255"
+    })
+    void searchMissReturnsEmpty(String ip) {
+        assertThat(ipRegionService.search(ip)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {
+            " ", "1.2.3", "1.2.3.4.5", "256.1.1.1", "1.2.3.256", "1..2.3", ".1.2.3", "1.2.3.",
+            "a.b.c.d", " 1.0.1.1", "1.0.1.1 ", "-1.0.1.1", "1.0.1.1/24"
+    })
+    void searchMalformedIpReturnsEmpty(String ip) {
+        assertThat(ipRegionService.search(ip)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2001:db8::1", "fe80::1", "::ffff:1.0.1.1"})
+    void searchIpv6ReturnsEmpty(String ip) {
+        assertThat(ipRegionService.search(ip)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"::1", "0:0:0:0:0:0:0:1"})
+    void searchIpv6LoopbackIsIntranet(String ip) {
+        assertThat(ipRegionService.search(ip)).isEqualTo(IpRegionService.INTRANET);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "10.0.0.0", "10.255.255.255", "127.0.0.1", "172.16.0.0", "172.31.255.255",
+            "192.168.0.1", "192.168.255.255", "169.254.0.1"
+    })
+    void searchPrivateRangeIsIntranet(String ip) {
+        assertThat(ipRegionService.search(ip)).isEqualTo(IpRegionService.INTRANET);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"172.15.255.255", "172.32.0.0", "192.167.255.255", "192.169.0.0", "11.0.0.0"})
+    void searchNearPrivateRangeIsNotIntranet(String ip) {
+        assertThat(ipRegionService.search(ip)).isNotEqualTo(IpRegionService.INTRANET);
+    }
+
+    @Test
+    void searchWithoutDatabaseOnlyRecognizesIntranet() {
+        IpRegionService service = newService(true, null);
+        assertThat(service.search("192.168.1.1")).isEqualTo(IpRegionService.INTRANET);
+        assertThat(service.search("1.0.1.1")).isEmpty();
+    }
+
+    @Test
+    void searchWithMissingDatabaseOnlyRecognizesIntranet() {
+        IpRegionService service = newService(true, "classpath:ip2region/not-exists.xdb");
+        assertThat(service.search("10.1.1.1")).isEqualTo(IpRegionService.INTRANET);
+        assertThat(service.search("1.0.1.1")).isEmpty();
+    }
+
+    @Test
+    void searchWhenDisabledReturnsEmpty() {
+        IpRegionService service = newService(false, TEST_DB_PATH);
+        assertThat(service.search("1.0.1.1")).isEmpty();
+        assertThat(service.search("192.168.1.1")).isEmpty();
+    }
+
+    @Test
+    void searchHitsCacheOnRepeatedLookup() {
+        assertThat(ipRegionService.search("223.5.5.5")).isEqualTo("中国 浙江省 杭州市");
+        assertThat(ipRegionService.search("223.5.5.5")).isEqualTo("中国 浙江省 杭州市");
+    }
+
+    @Test
+    void searcherRejectsTruncatedDatabase() {
+        assertThatThrownBy(() -> new IpRegionXdbSearcher(ByteBuffer.allocate(1024)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static IpRegionService newService(boolean enabled, String dbPath) {
+        IpRegionProperties properties = new IpRegionProperties();
+        properties.setEnabled(enabled);
+        properties.setDbPath(dbPath);
+        IpRegionService service = new IpRegionService(properties, new DefaultResourceLoader());
+        service.init();
+        return service;
+    }
+}
@@ -2,7 +2,7 @@ package com.mms.job.server.security;
 
 import com.mms.common.cache.constants.CacheNameConstants;
 import com.mms.common.cache.utils.RedisUtils;
-import com.mms.common.security.servlet.filter.UserAuthorityProvider;
+import com.mms.common.security.servlet.filter.AbstractCachingUserAuthorityProvider;
 import com.mms.common.security.core.vo.UserAuthorityVo;
 import com.mms.usercenter.feign.UserAuthorityFeign;
 import lombok.AllArgsConstructor;
@@ -19,7 +19,7 @@ import org.springframework.stereotype.Component;
  */
 @AllArgsConstructor
 @Component
-public class UserAuthorityProviderImpl implements UserAuthorityProvider {
+public class UserAuthorityProviderImpl extends AbstractCachingUserAuthorityProvider {
 
     private final UserAuthorityFeign userAuthorityFeign;
 
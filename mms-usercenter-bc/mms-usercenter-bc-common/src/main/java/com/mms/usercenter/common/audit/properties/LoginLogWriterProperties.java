@@ -0,0 +1,47 @@
+package com.mms.usercenter.common.audit.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【登录日志异步批量写入配置属性】
+ * <p>
+ *
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 20:58:12
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "login.log-writer")
+public class LoginLogWriterProperties {
+
+    /**
+     * 是否异步批量写入（关闭时在登录请求内逐条写入）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 内存队列容量，队列满时退回调用线程同步写入
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * 单次批量写入最大行数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 最长刷写间隔，未攒满一批时到时间也写入
+     */
+    private Duration flushInterval = Duration.ofMillis(1000);
+
+    /**
+     * 应用关闭时等待队列写完的最长时间
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
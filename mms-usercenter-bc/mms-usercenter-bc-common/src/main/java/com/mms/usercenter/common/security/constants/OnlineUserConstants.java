@@ -31,6 +31,11 @@ public class OnlineUserConstants {
      */
     public static final String TYPE_ONLINE_USER_REMOVE = "online_user_remove";
 
+    /**
+     * 在线用户增量消息（合并窗口内的新增/更新与移除）
+     */
+    public static final String TYPE_ONLINE_USER_DELTA = "online_user_delta";
+
     /**
      * 私有构造函数，防止实例化
      */
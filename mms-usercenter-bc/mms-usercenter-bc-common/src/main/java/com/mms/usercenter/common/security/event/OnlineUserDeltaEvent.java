@@ -0,0 +1,32 @@
+package com.mms.usercenter.common.security.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 实现功能【在线用户增量事件】
+ * <p>
+ * 合并窗口内发生变化的在线用户：新增/更新的用户与离线的用户ID
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 21:42:36
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OnlineUserDeltaEvent {
+
+    /**
+     * 新增/更新的在线用户
+     */
+    private List<OnlineUserUpsertEvent> upserts;
+
+    /**
+     * 离线的用户ID
+     */
+    private List<String> removes;
+}
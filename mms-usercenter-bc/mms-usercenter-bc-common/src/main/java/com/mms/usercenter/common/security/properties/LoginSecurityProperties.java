@@ -37,5 +37,15 @@ public class LoginSecurityProperties {
      * 默认密码前缀
      */
     private String defaultPasswordPrefix = "MMS2025_";
+
+    /**
+     * BCrypt 目标成本因子，低于该成本的旧密码在登录成功时重新哈希
+     */
+    private Integer passwordHashCost = 12;
+
+    /**
+     * 等待密码哈希线程池计算结果的最长时间（毫秒），超时按系统繁忙处理
+     */
+    private Integer passwordHashTimeout = 3000;
 }
 
@@ -0,0 +1,37 @@
+package com.mms.usercenter.common.security.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【在线用户状态推送配置属性】
+ * <p>
+ *
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 21:42:36
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "online-user.presence")
+public class OnlineUserPresenceProperties {
+
+    /**
+     * 合并推送窗口：窗口内的上线/离线变化合并为一条增量消息推送，小于等于 0 时每次变化立即推送
+     */
+    private Duration coalesceWindow = Duration.ofMillis(200);
+
+    /**
+     * 用户基础信息本地缓存最大条数
+     */
+    private long userCacheMaximumSize = 10000;
+
+    /**
+     * 用户基础信息本地缓存存活时间
+     */
+    private Duration userCacheTtl = Duration.ofSeconds(60);
+}
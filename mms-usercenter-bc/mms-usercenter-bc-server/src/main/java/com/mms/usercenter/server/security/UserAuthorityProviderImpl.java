@@ -1,6 +1,6 @@
 package com.mms.usercenter.server.security;
 
-import com.mms.common.security.servlet.filter.UserAuthorityProvider;
+import com.mms.common.security.servlet.filter.AbstractCachingUserAuthorityProvider;
 import com.mms.common.security.core.vo.UserAuthorityVo;
 import com.mms.usercenter.service.security.service.UserAuthorityService;
 import lombok.AllArgsConstructor;
@@ -17,7 +17,7 @@ import org.springframework.stereotype.Component;
  */
 @AllArgsConstructor
 @Component
-public class UserAuthorityProviderImpl implements UserAuthorityProvider {
+public class UserAuthorityProviderImpl extends AbstractCachingUserAuthorityProvider {
 
     private final UserAuthorityService userAuthorityService;
 
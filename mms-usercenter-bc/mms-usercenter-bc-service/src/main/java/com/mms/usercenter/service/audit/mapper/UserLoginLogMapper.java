@@ -8,6 +8,8 @@ import com.mms.usercenter.common.audit.vo.UserLoginLogVo;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
+
 /**
  * 实现功能【用户登录日志实体 Mapper】
  * <p>
@@ -36,4 +38,12 @@ public interface UserLoginLogMapper extends BaseMapper<UserLoginLogEntity> {
      * @return 登录日志VO
      */
     UserLoginLogVo getUserLoginLogById(@Param("logId") Long logId);
+
+    /**
+     * 批量插入登录日志（单条多行 INSERT，主键需调用方预先分配）
+     *
+     * @param list 登录日志列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("list") List<UserLoginLogEntity> list);
 }
\ No newline at end of file
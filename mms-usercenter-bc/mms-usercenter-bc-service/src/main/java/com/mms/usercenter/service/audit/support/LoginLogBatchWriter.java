@@ -0,0 +1,166 @@
+package com.mms.usercenter.service.audit.support;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.mms.usercenter.common.audit.entity.UserLoginLogEntity;
+import com.mms.usercenter.common.audit.properties.LoginLogWriterProperties;
+import com.mms.usercenter.service.audit.mapper.UserLoginLogMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实现功能【登录日志异步批量写入器】
+ * <p>
+ * 登录请求只把日志实体放入有界队列，由后台线程攒批后多行 INSERT 入库：
+ * 攒满 batchSize 行或距上次写入超过 flushInterval 即写入一批；
+ * 队列满时退回调用线程同步写入，不丢日志；应用关闭时写完队列中剩余的日志。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 21:04:37
+ */
+@Slf4j
+@Component
+public class LoginLogBatchWriter {
+
+    @Resource
+    private UserLoginLogMapper userLoginLogMapper;
+
+    @Resource
+    private LoginLogWriterProperties loginLogWriterProperties;
+
+    private BlockingQueue<UserLoginLogEntity> queue;
+
+    private Thread flusher;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!loginLogWriterProperties.isEnabled()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(Math.max(1, loginLogWriterProperties.getQueueCapacity()));
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "login-log-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("【登录日志批量写入】启动成功：queue={}, batch={}, interval={}",
+                loginLogWriterProperties.getQueueCapacity(), loginLogWriterProperties.getBatchSize(),
+                loginLogWriterProperties.getFlushInterval());
+    }
+
+    /**
+     * 提交一条登录日志
+     * 未启用或队列已满时在调用线程直接写入
+     */
+    public void submit(UserLoginLogEntity logEntity) {
+        if (!running || !queue.offer(logEntity)) {
+            userLoginLogMapper.insert(logEntity);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        // 不中断后台线程，避免打断进行中的数据库写入；其最多等待一个刷写间隔即可感知关闭
+        running = false;
+        try {
+            flusher.join(loginLogWriterProperties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!flusher.isAlive()) {
+            // 关闭期间仍可能有日志入队，由关闭线程补写
+            drainRemaining(new ArrayList<>(), Math.max(1, loginLogWriterProperties.getBatchSize()));
+        }
+        if (!queue.isEmpty()) {
+            log.warn("【登录日志批量写入】关闭超时，剩余 {} 条未写入", queue.size());
+        }
+    }
+
+    /**
+     * 后台刷写循环：等待首条日志，然后在刷写间隔内攒批
+     */
+    private void runFlushLoop() {
+        int batchSize = Math.max(1, loginLogWriterProperties.getBatchSize());
+        long intervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), loginLogWriterProperties.getFlushInterval().toNanos());
+        List<UserLoginLogEntity> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                UserLoginLogEntity first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    UserLoginLogEntity next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                flush(batch);
+            }
+        }
+        drainRemaining(batch, batchSize);
+    }
+
+    /**
+     * 关闭时写完队列中剩余的日志
+     */
+    private void drainRemaining(List<UserLoginLogEntity> batch, int batchSize) {
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    /**
+     * 多行写入一批日志，失败时逐条重试以隔离异常数据
+     */
+    private void flush(List<UserLoginLogEntity> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // 自定义 INSERT 不经过 MyBatis-Plus 主键填充，需手动分配雪花ID
+            for (UserLoginLogEntity entity : batch) {
+                if (entity.getId() == null) {
+                    entity.setId(IdWorker.getId());
+                }
+            }
+            userLoginLogMapper.insertBatch(batch);
+        } catch (Exception e) {
+            log.warn("登录日志批量写入失败，改为逐条写入, size: {}, 原因: {}", batch.size(), e.getMessage());
+            for (UserLoginLogEntity entity : batch) {
+                try {
+                    userLoginLogMapper.insert(entity);
+                } catch (Exception ex) {
+                    log.error("登录日志写入失败, username: {}, 原因: {}", entity.getUsername(), ex.getMessage());
+                }
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+}
@@ -8,6 +8,9 @@ import com.mms.usercenter.common.auth.vo.UserPageVo;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 实现功能【用户实体 Mapper】
  * <p>
@@ -60,5 +63,20 @@ public interface UserMapper extends BaseMapper<UserEntity> {
      * @return 用户实体
      */
     UserEntity selectByPhone(@Param("phone") String phone);
-}
 
+    /**
+     * 查询拥有指定角色的用户名（去重，未删除用户）
+     *
+     * @param roleIds 角色ID集合
+     * @return 用户名列表
+     */
+    List<String> selectUsernamesByRoleIds(@Param("roleIds") Collection<Long> roleIds);
+
+    /**
+     * 查询通过角色拥有指定权限的用户名（去重，未删除用户）
+     *
+     * @param permissionId 权限ID
+     * @return 用户名列表
+     */
+    List<String> selectUsernamesByPermissionId(@Param("permissionId") Long permissionId);
+}
@@ -18,13 +18,13 @@ import com.mms.usercenter.common.auth.vo.UserDetailVo;
 import com.mms.usercenter.common.security.properties.LoginSecurityProperties;
 import com.mms.usercenter.service.auth.service.UserService;
 import com.mms.usercenter.service.auth.utils.LoginSecurityUtils;
+import com.mms.usercenter.service.auth.utils.PasswordHashUtils;
 import com.mms.usercenter.common.audit.entity.UserLoginLogEntity;
 import com.mms.usercenter.service.auth.mapper.UserMapper;
-import com.mms.usercenter.service.audit.mapper.UserLoginLogMapper;
+import com.mms.usercenter.service.audit.support.LoginLogBatchWriter;
 import com.mms.usercenter.service.auth.service.AuthService;
 import io.jsonwebtoken.Claims;
 import jakarta.annotation.Resource;
-import org.mindrot.jbcrypt.BCrypt;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -65,7 +65,10 @@ public class AuthServiceImpl implements AuthService {
     private LoginSecurityProperties loginSecurityProperties;
 
     @Resource
-    private UserLoginLogMapper userLoginLogMapper;
+    private PasswordHashUtils passwordHashUtils;
+
+    @Resource
+    private LoginLogBatchWriter loginLogBatchWriter;
 
     @Resource
     private UserService userService;
@@ -79,9 +82,9 @@ public class AuthServiceImpl implements AuthService {
                 recordLoginLog(null, dto.getUsername(), 0, "账号不存在");
                 throw new BusinessException(ErrorCode.LOGIN_FAILED);
             }
-            // 检查账号是否被临时锁定（登录失败次数过多导致的锁定）
-            if (loginSecurityUtils.isAccountLocked(user.getUsername())) {
-                long remainingTime = loginSecurityUtils.getLockRemainingTime(user.getUsername());
+            // 检查账号是否被临时锁定（登录失败次数过多导致的锁定），一次 TTL 查询同时得到锁定状态和剩余时间
+            long remainingTime = loginSecurityUtils.getLockRemainingTime(user.getUsername());
+            if (remainingTime != -2L) {
                 // 记录登录日志
                 recordLoginLog(user.getId(), user.getUsername(), 0, "账号已被临时锁定");
                 throw new BusinessException(ErrorCode.ACCOUNT_LOCKED, String.format("账号已被锁定，请在 %d 分钟后重试", remainingTime / 60));
@@ -98,8 +101,8 @@ public class AuthServiceImpl implements AuthService {
                 recordLoginLog(user.getId(), user.getUsername(), 0, "账号已锁定");
                 throw new BusinessException(ErrorCode.ACCOUNT_LOCKED);
             }
-            // 验证密码
-            if (!BCrypt.checkpw(dto.getPassword(), user.getPassword())) {
+            // 验证密码（在密码哈希线程池中计算）
+            if (!passwordHashUtils.matches(dto.getPassword(), user.getPassword())) {
                 // 处理登录失败场景（密码错误）
                 handleLoginFailure(user);
                 throw new BusinessException(ErrorCode.LOGIN_FAILED);
@@ -110,6 +113,8 @@ public class AuthServiceImpl implements AuthService {
             user.setLastLoginTime(LocalDateTime.now());
             String clientIp = UserContextUtils.getClientIp();
             user.setLastLoginIp(StringUtils.hasText(clientIp) ? clientIp : "unknown");
+            // 旧密码成本因子与目标不一致时借登录明文重新哈希，随本次更新一起写入
+            rehashPasswordIfNeeded(user, dto.getPassword());
             userMapper.updateById(user);
             // 严格单会话：生成新的 sid，并写入 Redis
             String sid = IdUtils.uuid32();
@@ -197,14 +202,10 @@ public class AuthServiceImpl implements AuthService {
         String username = user.getUsername();
         // 记录登录失败日志
         recordLoginLog(user.getId(), username, 0, "密码错误");
-        // 增加失败次数
-        loginSecurityUtils.incrementLoginAttempts(username);
-        // 获取失败次数
-        int attempts = loginSecurityUtils.getLoginAttempts(username);
-        // 如果达到最大尝试次数，锁定账号
+        // 增加失败次数（达到最大尝试次数时脚本内已锁定账号）
+        int attempts = loginSecurityUtils.recordLoginFailure(username);
+        // 如果达到最大尝试次数，提示已锁定
         if (attempts >= loginSecurityProperties.getMaxAttempts()) {
-            // 锁定账号
-            loginSecurityUtils.lockAccount(username);
             throw new BusinessException(ErrorCode.ACCOUNT_LOCKED, String.format("登录失败次数过多，账号已被锁定 %d 分钟", loginSecurityProperties.getLockTime()));
         }
         // 获取剩余尝试次数
@@ -213,6 +214,21 @@ public class AuthServiceImpl implements AuthService {
         throw new BusinessException(ErrorCode.LOGIN_FAILED, String.format("用户名或密码错误，您还有 %d 次尝试机会", remainingAttempts));
     }
 
+    /**
+     * 登录成功后按目标成本因子重新哈希密码
+     * 失败（如线程池繁忙）时保留旧哈希，下次登录再升级，不影响本次登录
+     */
+    private void rehashPasswordIfNeeded(UserEntity user, String rawPassword) {
+        if (!passwordHashUtils.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordHashUtils.hash(rawPassword));
+        } catch (Exception e) {
+            // 保留旧哈希
+        }
+    }
+
     /**
      * 解除因密码输入错误次数过多导致的临时锁定账号
      */
@@ -259,8 +275,8 @@ public class AuthServiceImpl implements AuthService {
             logEntity.setLoginStatus(loginStatus);
             logEntity.setLoginMessage(message);
             logEntity.setLoginTime(LocalDateTime.now());
-            // 入库
-            userLoginLogMapper.insert(logEntity);
+            // 异步批量入库
+            loginLogBatchWriter.submit(logEntity);
         } catch (Exception e) {
             // 记录日志失败不影响登录流程，只记录异常
         }
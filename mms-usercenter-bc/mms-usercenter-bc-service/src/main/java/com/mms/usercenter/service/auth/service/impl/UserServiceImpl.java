@@ -21,6 +21,7 @@ import com.mms.usercenter.service.auth.mapper.RoleMapper;
 import com.mms.usercenter.service.auth.mapper.UserMapper;
 import com.mms.usercenter.service.auth.mapper.UserRoleMapper;
 import com.mms.usercenter.service.auth.service.UserService;
+import com.mms.usercenter.service.auth.utils.PasswordHashUtils;
 import com.mms.usercenter.service.auth.utils.PasswordValidatorUtils;
 import com.mms.usercenter.service.auth.utils.UserUtils;
 import com.mms.usercenter.service.org.mapper.UserDeptMapper;
@@ -30,7 +31,6 @@ import com.mms.usercenter.service.org.service.PostService;
 import com.mms.usercenter.service.security.service.UserAuthorityService;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
-import org.mindrot.jbcrypt.BCrypt;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -86,6 +86,9 @@ public class UserServiceImpl implements UserService {
     @Resource
     private LoginSecurityProperties loginSecurityProperties;
 
+    @Resource
+    private PasswordHashUtils passwordHashUtils;
+
     @Override
     public Page<UserPageVo> getUserPage(UserPageQueryDto dto) {
         try {
@@ -153,7 +156,7 @@ public class UserServiceImpl implements UserService {
             UserEntity user = new UserEntity();
             BeanUtils.copyProperties(dto, user);
             // 加密密码
-            user.setPassword(BCrypt.hashpw(loginSecurityProperties.getDefaultPasswordPrefix() + dto.getUsername(), BCrypt.gensalt(12)));
+            user.setPassword(passwordHashUtils.hash(loginSecurityProperties.getDefaultPasswordPrefix() + dto.getUsername()));
             // 设置默认值
             if (user.getStatus() == null) {
                 user.setStatus(1);
@@ -438,7 +441,7 @@ public class UserServiceImpl implements UserService {
                 throw new BusinessException(ErrorCode.USER_NOT_FOUND);
             }
             // 加密新密码
-            String hashedPassword = BCrypt.hashpw(loginSecurityProperties.getDefaultPasswordPrefix() + user.getUsername(), BCrypt.gensalt());
+            String hashedPassword = passwordHashUtils.hash(loginSecurityProperties.getDefaultPasswordPrefix() + user.getUsername());
             user.setPassword(hashedPassword);
             user.setPasswordUpdateTime(LocalDateTime.now());
             userMapper.updateById(user);
@@ -462,13 +465,13 @@ public class UserServiceImpl implements UserService {
                 throw new BusinessException(ErrorCode.USER_NOT_FOUND);
             }
             // 验证旧密码
-            if (!BCrypt.checkpw(dto.getOldPassword(), user.getPassword())) {
+            if (!passwordHashUtils.matches(dto.getOldPassword(), user.getPassword())) {
                 throw new BusinessException(ErrorCode.PWD_MISMATCH, "旧密码错误");
             }
             // 校验新密码复杂度
             PasswordValidatorUtils.validate(dto.getNewPassword());
             // 加密新密码
-            String hashedPassword = BCrypt.hashpw(dto.getNewPassword(), BCrypt.gensalt());
+            String hashedPassword = passwordHashUtils.hash(dto.getNewPassword());
             user.setPassword(hashedPassword);
             user.setPasswordUpdateTime(LocalDateTime.now());
             userMapper.updateById(user);
@@ -4,8 +4,11 @@ import com.mms.common.cache.utils.RedisUtils;
 import com.mms.usercenter.common.auth.constants.LoginSecurityCacheKeyConstants;
 import com.mms.usercenter.common.security.properties.LoginSecurityProperties;
 import jakarta.annotation.Resource;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -20,25 +23,45 @@ import java.util.concurrent.TimeUnit;
 @Component
 public class LoginSecurityUtils {
 
-    @Resource
-    private LoginSecurityProperties securityProperties;
+    /**
+     * 锁定标记值
+     */
+    private static final String LOCK_MESSAGE = "登录失败次数过多";
 
     /**
-     * 增加登录失败次数
+     * 记录一次登录失败：自增、续期计数窗口、达到阈值时锁定并清零计数，一次往返原子完成
+     * KEYS[1]：失败次数 key，KEYS[2]：锁定 key
+     * ARGV[1]：最大失败次数，ARGV[2]：计数窗口（秒），ARGV[3]：锁定时长（秒），ARGV[4]：锁定标记值
+     * 返回本次失败后的累计次数
      */
-    public void incrementLoginAttempts(String username) {
-        String key = LoginSecurityCacheKeyConstants.LOGIN_ATTEMPT_PREFIX + username;
-        RedisUtils.increment(key);
-        RedisUtils.expire(key, securityProperties.getAttemptWindow(), TimeUnit.MINUTES);
-    }
+    private static final RedisScript<Long> LOGIN_FAILURE_SCRIPT = new DefaultRedisScript<>("""
+            local attempts = redis.call('INCR', KEYS[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            if attempts >= tonumber(ARGV[1]) then
+                redis.call('SET', KEYS[2], ARGV[4], 'EX', ARGV[3])
+                redis.call('DEL', KEYS[1])
+            end
+            return attempts
+            """, Long.class);
+
+    @Resource
+    private LoginSecurityProperties securityProperties;
 
     /**
-     * 获取登录失败次数
+     * 记录登录失败（原子操作）
+     *
+     * @param username 用户名
+     * @return 本次失败后的累计次数，达到最大次数时账号已被锁定
      */
-    public int getLoginAttempts(String username) {
+    public int recordLoginFailure(String username) {
         String key = LoginSecurityCacheKeyConstants.LOGIN_ATTEMPT_PREFIX + username;
-        Integer attempts = RedisUtils.get(key, Integer.class);
-        return attempts == null ? 0 : attempts;
+        String lockKey = LoginSecurityCacheKeyConstants.ACCOUNT_LOCK_PREFIX + username;
+        Long attempts = RedisUtils.execute(LOGIN_FAILURE_SCRIPT, List.of(key, lockKey),
+                securityProperties.getMaxAttempts(),
+                TimeUnit.MINUTES.toSeconds(securityProperties.getAttemptWindow()),
+                TimeUnit.MINUTES.toSeconds(securityProperties.getLockTime()),
+                LOCK_MESSAGE);
+        return attempts == null ? 0 : attempts.intValue();
     }
 
     /**
@@ -49,25 +72,9 @@ public class LoginSecurityUtils {
         RedisUtils.delete(key);
     }
 
-    /**
-     * 锁定账号
-     */
-    public void lockAccount(String username) {
-        String lockKey = LoginSecurityCacheKeyConstants.ACCOUNT_LOCK_PREFIX + username;
-        RedisUtils.set(lockKey, "登录失败次数过多", securityProperties.getLockTime(), TimeUnit.MINUTES);
-        resetLoginAttempts(username);
-    }
-
-    /**
-     * 检查账号是否被锁定
-     */
-    public boolean isAccountLocked(String username) {
-        String lockKey = LoginSecurityCacheKeyConstants.ACCOUNT_LOCK_PREFIX + username;
-        return Boolean.TRUE.equals(RedisUtils.exists(lockKey));
-    }
-
     /**
      * 获取剩余锁定时间（秒）
+     * 单次查询即可同时判断是否锁定：-2 表示未锁定，-1 表示永久锁定
      */
     public long getLockRemainingTime(String username) {
         String lockKey = LoginSecurityCacheKeyConstants.ACCOUNT_LOCK_PREFIX + username;
@@ -0,0 +1,136 @@
+package com.mms.usercenter.service.auth.utils;
+
+import com.mms.common.core.enums.error.ErrorCode;
+import com.mms.common.core.exceptions.BusinessException;
+import com.mms.common.core.exceptions.ServerException;
+import com.mms.usercenter.common.security.properties.LoginSecurityProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 实现功能【密码哈希工具类】
+ * <p>
+ * BCrypt 校验/哈希统一提交到独立的密码哈希线程池（passwordHashTaskExecutor）执行，
+ * 同时计算的数量不超过 CPU 核数，登录高峰时不会占满 Tomcat 请求线程的 CPU；
+ * 线程池队列满或等待超时时快速失败（系统繁忙），而不是让请求无限排队。
+ * 实现 MeterBinder，由 actuator 注册队列长度、活跃线程数与哈希耗时指标。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-17 21:36:48
+ */
+@Slf4j
+@Component
+public class PasswordHashUtils implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "mms.password.hash";
+
+    @Resource
+    @Qualifier("passwordHashTaskExecutor")
+    private ThreadPoolTaskExecutor passwordHashTaskExecutor;
+
+    @Resource
+    private LoginSecurityProperties loginSecurityProperties;
+
+    private volatile Timer verifyTimer;
+
+    private volatile Timer hashTimer;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".queue.size", passwordHashTaskExecutor,
+                        executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .description("密码哈希线程池排队任务数")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".active", passwordHashTaskExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("密码哈希线程池活跃线程数")
+                .register(registry);
+        verifyTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .tag("operation", "verify")
+                .description("BCrypt 校验耗时（不含排队）")
+                .register(registry);
+        hashTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .tag("operation", "hash")
+                .description("BCrypt 哈希耗时（不含排队）")
+                .register(registry);
+    }
+
+    /**
+     * 校验明文密码与哈希是否匹配
+     */
+    public boolean matches(String rawPassword, String hashedPassword) {
+        return compute(() -> record(verifyTimer, () -> BCrypt.checkpw(rawPassword, hashedPassword)));
+    }
+
+    /**
+     * 按目标成本因子哈希明文密码
+     */
+    public String hash(String rawPassword) {
+        int cost = loginSecurityProperties.getPasswordHashCost();
+        return compute(() -> record(hashTimer, () -> BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost))));
+    }
+
+    /**
+     * 哈希的成本因子是否与目标成本因子不一致（$2a$12$... 中的 12）
+     */
+    public boolean needsRehash(String hashedPassword) {
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$') {
+            return false;
+        }
+        int costIndex = hashedPassword.indexOf('$', 1) + 1;
+        if (costIndex <= 1 || costIndex + 2 > hashedPassword.length()) {
+            return false;
+        }
+        try {
+            int cost = Integer.parseInt(hashedPassword.substring(costIndex, costIndex + 2));
+            return cost != loginSecurityProperties.getPasswordHashCost();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 在密码哈希线程池中执行并等待结果
+     */
+    private <T> T compute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = passwordHashTaskExecutor.submit(task);
+        } catch (TaskRejectedException e) {
+            log.warn("密码哈希线程池已满，拒绝本次请求");
+            throw new BusinessException(ErrorCode.SYSTEM_BUSY);
+        }
+        try {
+            return future.get(loginSecurityProperties.getPasswordHashTimeout(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("等待密码哈希结果超时");
+            throw new BusinessException(ErrorCode.SYSTEM_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SYSTEM_BUSY);
+        } catch (ExecutionException e) {
+            throw new ServerException("密码哈希计算失败", e.getCause());
+        }
+    }
+
+    private static <T> T record(Timer timer, Callable<T> task) throws Exception {
+        return timer != null ? timer.recordCallable(task) : task.call();
+    }
+}
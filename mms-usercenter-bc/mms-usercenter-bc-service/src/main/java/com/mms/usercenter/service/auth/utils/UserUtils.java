@@ -2,6 +2,7 @@ package com.mms.usercenter.service.auth.utils;
 
 import com.mms.common.core.enums.error.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
+import com.mms.common.security.servlet.filter.UserAuthenticationToken;
 import com.mms.common.webmvc.utils.UserContextUtils;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -86,7 +87,18 @@ public final class UserUtils {
      * 判断当前用户是否拥有某权限
      */
     public static boolean hasPermission(String permissionCode) {
-        return StringUtils.hasText(permissionCode) && getPermissions().contains(permissionCode);
+        if (!StringUtils.hasText(permissionCode)) {
+            return false;
+        }
+        // 与 getPermissions() 一致，角色（ROLE_ 前缀）不算权限
+        if (permissionCode.startsWith("ROLE_")) {
+            return false;
+        }
+        // 由 JwtAuthenticationFilter 创建的认证信息带权限位图，直接位测试
+        if (getAuthentication() instanceof UserAuthenticationToken token && token.getUserAuthorities() != null) {
+            return token.getUserAuthorities().hasPermission(permissionCode);
+        }
+        return getPermissions().contains(permissionCode);
     }
 
     /**
@@ -2,6 +2,8 @@ package com.mms.usercenter.service.security.service;
 
 import com.mms.common.security.core.vo.UserAuthorityVo;
 
+import java.util.Collection;
+
 /**
  * 实现功能【用户认证服务】
  * <p>
@@ -29,6 +31,12 @@ public interface UserAuthorityService {
      */
     void clearUserAuthorityCacheByUsername(String username);
 
+    /**
+     * 批量清除用户的权限缓存（通过用户名）
+     * @param usernames 用户名集合
+     */
+    void clearUserAuthorityCacheByUsernames(Collection<String> usernames);
+
     /**
      * 清除指定用户的权限缓存（通过用户ID）
      * @param userId 用户ID
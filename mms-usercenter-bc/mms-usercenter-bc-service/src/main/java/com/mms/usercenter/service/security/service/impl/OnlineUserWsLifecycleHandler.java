@@ -1,39 +1,53 @@
 package com.mms.usercenter.service.security.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.mms.common.core.utils.DateUtils;
-import com.mms.common.websocket.common.constants.WebSocketConstants;
 import com.mms.common.websocket.common.protocol.WsMessage;
 import com.mms.common.websocket.push.service.WsPushService;
 import com.mms.common.websocket.registry.event.WsRoomJoinedEvent;
-import com.mms.common.websocket.registry.event.WsSessionRegisteredEvent;
-import com.mms.common.websocket.registry.event.WsSessionUnregisteredEvent;
+import com.mms.common.websocket.registry.event.WsUserSessionCountChangedEvent;
 import com.mms.common.websocket.registry.service.WsRegistryService;
 import com.mms.usercenter.common.auth.entity.UserEntity;
 import com.mms.usercenter.common.security.constants.OnlineUserConstants;
+import com.mms.usercenter.common.security.event.OnlineUserDeltaEvent;
 import com.mms.usercenter.common.security.event.OnlineUserFullEvent;
-import com.mms.usercenter.common.security.event.OnlineUserRemoveEvent;
 import com.mms.usercenter.common.security.event.OnlineUserUpsertEvent;
+import com.mms.usercenter.common.security.properties.OnlineUserPresenceProperties;
 import com.mms.usercenter.common.security.vo.OnlineUserVo;
 import com.mms.usercenter.service.auth.mapper.UserMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.socket.WebSocketSession;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 在线用户 WS 生命周期业务处理器（消费事件并执行业务逻辑）。
+ * <p>
+ * 上线/离线变化先记入待推送集合，合并窗口到期后一次性推送增量消息；窗口内有用户订阅在线用户房间时改为推送一次全量。
+ * 用户基础信息经本地缓存批量加载，未命中部分一次 selectBatchIds 回源。
+ * </p>
  */
+@Slf4j
 @Component
 public class OnlineUserWsLifecycleHandler {
 
@@ -46,63 +60,80 @@ public class OnlineUserWsLifecycleHandler {
     @Resource
     private WsPushService wsPushService;
 
+    @Resource
+    private OnlineUserPresenceProperties presenceProperties;
+
     /**
-     * 上一次在线用户会话数快照（userId -> sessionCount）
-     * 用于在会话注册/注销时做增量对比，只推送变化用户，避免每次全量广播
+     * 待推送的变化用户ID
      */
-    private Map<String, Integer> lastOnlineCountMap = Collections.emptyMap();
+    private final Set<String> dirtyUserIds = ConcurrentHashMap.newKeySet();
 
     /**
-     * WebSocket 会话注册完成后触发
+     * 是否待推送全量快照
      */
-    @EventListener
-    public synchronized void onSessionRegistered(WsSessionRegisteredEvent event) {
-        pushDiff(lastOnlineCountMap, buildOnlineCountMap());
+    private final AtomicBoolean fullPending = new AtomicBoolean();
+
+    /**
+     * 是否已安排本窗口的推送
+     */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * 用户基础信息本地缓存（userId -> 用户摘要）
+     */
+    private Cache<String, UserSummary> userSummaryCache;
+
+    private ScheduledExecutorService flushScheduler;
+
+    @PostConstruct
+    public void init() {
+        userSummaryCache = Caffeine.newBuilder()
+                .maximumSize(presenceProperties.getUserCacheMaximumSize())
+                .expireAfterWrite(presenceProperties.getUserCacheTtl())
+                .build();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("online-user-presence-");
+        threadFactory.setDaemon(true);
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        flushScheduler.shutdownNow();
     }
 
     /**
-     * WebSocket 会话注销完成后触发
+     * 用户连接数变化后触发（由注册表在会话注册/注销时原子计算，无需全量扫描会话）
      */
     @EventListener
-    public synchronized void onSessionUnregistered(WsSessionUnregisteredEvent event) {
-        pushDiff(lastOnlineCountMap, buildOnlineCountMap());
+    public void onUserSessionCountChanged(WsUserSessionCountChangedEvent event) {
+        // 新上线通常伴随一次新登录，登录 IP/时间已变化，丢弃旧的用户摘要
+        if (event.isOnline()) {
+            userSummaryCache.invalidate(event.getUserId());
+        }
+        dirtyUserIds.add(event.getUserId());
+        requestFlush();
     }
 
     /**
      * 用户订阅在线用户房间后触发
      */
     @EventListener
-    public synchronized void onRoomJoined(WsRoomJoinedEvent event) {
+    public void onRoomJoined(WsRoomJoinedEvent event) {
         if (!OnlineUserConstants.ROOM_ONLINE_USER.equals(event.getRoomId())) {
             return;
         }
-        // 统计当前在线会话数（userId -> 该userId的会话数）
-        Map<String, Integer> countMap = buildOnlineCountMap();
-        // 加载用户的信息（userId -> 用户实体信息）
-        Map<String, UserEntity> userMap = loadUsers(countMap.keySet());
-        // 拼接成在线用户列表（ws推送使用）
-        List<OnlineUserUpsertEvent> users = new ArrayList<>();
-        for (Map.Entry<String, Integer> entry : countMap.entrySet()) {
-            users.add(toOnlineUserUpsertEvent(entry.getKey(), entry.getValue(), userMap.get(entry.getKey())));
-        }
-        // 全量推送消息
-        pushToOnlineRoom(WsMessage.builder()
-                .type(OnlineUserConstants.TYPE_ONLINE_USER_FULL)
-                .data(new OnlineUserFullEvent(users))
-                .timestamp(DateUtils.nowMillis())
-                .build());
-        // 保存最新在线用户会话数快照
-        lastOnlineCountMap = countMap;
+        fullPending.set(true);
+        requestFlush();
     }
 
     /**
      * 查询在线用户列表
      */
-    public synchronized List<OnlineUserVo> getOnlineUsers() {
+    public List<OnlineUserVo> getOnlineUsers() {
         // 统计当前在线会话数（userId -> 该userId的会话数）
         Map<String, Integer> countMap = buildOnlineCountMap();
-        // 加载用户的信息（userId -> 用户实体信息）
-        Map<String, UserEntity> userMap = loadUsers(countMap.keySet());
+        // 加载用户的信息（userId -> 用户摘要）
+        Map<String, UserSummary> userMap = loadUsers(countMap.keySet());
         // 拼接成在线用户列表（http响应使用）
         List<OnlineUserVo> list = new ArrayList<>();
         for (Map.Entry<String, Integer> entry : countMap.entrySet()) {
@@ -118,109 +149,166 @@ public class OnlineUserWsLifecycleHandler {
     }
 
     /**
-     * 对比前后在线会话数快照并进行增量推送
+     * 安排推送：窗口内只安排一次，窗口小于等于 0 时立即推送
      */
-    private void pushDiff(Map<String, Integer> before, Map<String, Integer> after) {
-        // 取并集：任何在 before/after 出现过的用户，都可能需要推送变更
-        Set<String> userIds = new HashSet<>();
-        userIds.addAll(before.keySet());
-        userIds.addAll(after.keySet());
-        // 无在线用户时仅更新基线，不发消息
-        if (userIds.isEmpty()) {
-            lastOnlineCountMap = after;
+    private void requestFlush() {
+        long windowMillis = presenceProperties.getCoalesceWindow() == null ? 0 : presenceProperties.getCoalesceWindow().toMillis();
+        if (windowMillis <= 0) {
+            flush();
             return;
         }
-        // 预先加载用户信息，避免循环内重复查询
-        Map<String, UserEntity> userMap = loadUsers(userIds);
-        for (String userId : userIds) {
-            // 该用户旧的会话数量
-            Integer oldCount = before.get(userId);
-            // 该用户新的会话数量
-            Integer newCount = after.get(userId);
-            // 新快照无该用户（或会话数<=0）且旧快照有在线记录：视为离线
-            if (newCount == null || newCount <= 0) {
-                if (oldCount != null && oldCount > 0) {
-                    pushToOnlineRoom(WsMessage.builder()
-                            .type(OnlineUserConstants.TYPE_ONLINE_USER_REMOVE)
-                            .data(new OnlineUserRemoveEvent(userId))
-                            .timestamp(DateUtils.nowMillis())
-                            .build());
-                }
-                continue;
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flushScheduler.schedule(() -> {
+                // 先复位再推送，推送期间发生的变化进入下一个窗口
+                flushScheduled.set(false);
+                flush();
+            }, windowMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 应用关闭中，不再推送
+            flushScheduled.set(false);
+        }
+    }
+
+    /**
+     * 推送窗口内的变化：有全量请求时推送一次全量（已包含所有变化），否则推送一条增量
+     */
+    private void flush() {
+        try {
+            List<String> userIds = drainDirtyUserIds();
+            if (fullPending.getAndSet(false)) {
+                pushFull();
+                return;
             }
-            // 新上线或会话数变化时，推送最新用户在线信息
-            if (oldCount == null || !oldCount.equals(newCount)) {
-                pushToOnlineRoom(WsMessage.builder()
-                        .type(OnlineUserConstants.TYPE_ONLINE_USER_UPSERT)
-                        .data(toOnlineUserUpsertEvent(userId, newCount, userMap.get(userId)))
-                        .timestamp(DateUtils.nowMillis())
-                        .build());
+            if (!userIds.isEmpty()) {
+                pushDelta(userIds);
             }
+        } catch (Exception e) {
+            log.warn("在线用户状态推送失败: {}", e.getMessage(), e);
         }
-        // 保存最新在线用户会话数快照
-        lastOnlineCountMap = after;
+    }
+
+    private List<String> drainDirtyUserIds() {
+        List<String> userIds = new ArrayList<>();
+        Iterator<String> iterator = dirtyUserIds.iterator();
+        while (iterator.hasNext()) {
+            userIds.add(iterator.next());
+            iterator.remove();
+        }
+        return userIds;
     }
 
     /**
-     * 从注册表中统计当前在线会话数
+     * 推送全量在线用户列表
      */
-    private Map<String, Integer> buildOnlineCountMap() {
-        Set<WebSocketSession> sessions = wsRegistryService.getAllSessions();
-        if (sessions.isEmpty()) {
-            return Collections.emptyMap();
+    private void pushFull() {
+        // 统计当前在线会话数（userId -> 该userId的会话数）
+        Map<String, Integer> countMap = buildOnlineCountMap();
+        // 加载用户的信息（userId -> 用户摘要）
+        Map<String, UserSummary> userMap = loadUsers(countMap.keySet());
+        // 拼接成在线用户列表（ws推送使用）
+        List<OnlineUserUpsertEvent> users = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : countMap.entrySet()) {
+            users.add(toOnlineUserUpsertEvent(entry.getKey(), entry.getValue(), userMap.get(entry.getKey())));
         }
-        Map<String, Integer> countMap = new HashMap<>();
-        for (WebSocketSession session : sessions) {
-            // 跳过空会话或已关闭会话，防止脏数据影响统计
-            if (session == null || !session.isOpen()) {
-                continue;
-            }
-            Object userIdAttr = session.getAttributes().get(WebSocketConstants.WS_USER_ID);
-            String userId = userIdAttr == null ? "" : String.valueOf(userIdAttr).trim();
-            // 未鉴权/无 userId 的连接不计入在线用户
-            if (userId.isEmpty()) {
-                continue;
+        // 全量推送消息
+        pushToOnlineRoom(WsMessage.builder()
+                .type(OnlineUserConstants.TYPE_ONLINE_USER_FULL)
+                .data(new OnlineUserFullEvent(users))
+                .timestamp(DateUtils.nowMillis())
+                .build());
+    }
+
+    /**
+     * 推送变化用户的增量，连接数以推送时注册表中的最新值为准
+     */
+    private void pushDelta(List<String> userIds) {
+        Map<String, Integer> onlineCounts = new HashMap<>();
+        List<String> removes = new ArrayList<>();
+        for (String userId : userIds) {
+            int sessionCount = wsRegistryService.countByUserId(userId);
+            if (sessionCount > 0) {
+                onlineCounts.put(userId, sessionCount);
+            } else {
+                removes.add(userId);
             }
-            // 同一用户多个连接累计计数
-            countMap.merge(userId, 1, Integer::sum);
         }
+        Map<String, UserSummary> userMap = loadUsers(onlineCounts.keySet());
+        List<OnlineUserUpsertEvent> upserts = new ArrayList<>(onlineCounts.size());
+        for (Map.Entry<String, Integer> entry : onlineCounts.entrySet()) {
+            upserts.add(toOnlineUserUpsertEvent(entry.getKey(), entry.getValue(), userMap.get(entry.getKey())));
+        }
+        pushToOnlineRoom(WsMessage.builder()
+                .type(OnlineUserConstants.TYPE_ONLINE_USER_DELTA)
+                .data(new OnlineUserDeltaEvent(upserts, removes))
+                .timestamp(DateUtils.nowMillis())
+                .build());
+    }
+
+    /**
+     * 从注册表中读取当前在线用户连接数（直接读取注册表维护的按用户计数）
+     */
+    private Map<String, Integer> buildOnlineCountMap() {
+        Map<String, Integer> countMap = new HashMap<>();
+        wsRegistryService.forEachOnlineUser(countMap::put);
         return countMap;
     }
 
     /**
-     * 批量加载用户基础信息
+     * 批量加载用户基础信息：先查本地缓存，未命中的用户一次 selectBatchIds 回源
      */
-    private Map<String, UserEntity> loadUsers(Collection<String> userIds) {
-        Map<String, UserEntity> result = new HashMap<>();
+    private Map<String, UserSummary> loadUsers(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return userSummaryCache.getAll(userIds, this::selectUsers);
+        } catch (Exception e) {
+            // 加载失败时仅推送在线状态，不影响推送本身
+            log.warn("在线用户基础信息加载失败: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * 按ID批量查询用户（用户ID格式异常或数据不存在时跳过）
+     */
+    private Map<String, UserSummary> selectUsers(Set<? extends String> userIds) {
+        List<Long> ids = new ArrayList<>(userIds.size());
         for (String userId : userIds) {
             try {
-                Long id = Long.valueOf(userId);
-                UserEntity entity = userMapper.selectById(id);
-                if (entity != null) {
-                    result.put(userId, entity);
-                }
-            } catch (Exception ignored) {
-                // 用户ID格式异常或数据不存在时，继续处理其它用户
+                ids.add(Long.valueOf(userId));
+            } catch (NumberFormatException ignored) {
+                // 跳过格式异常的用户ID
             }
         }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, UserSummary> result = new HashMap<>();
+        for (UserEntity entity : userMapper.selectBatchIds(ids)) {
+            result.put(String.valueOf(entity.getId()), UserSummary.of(entity));
+        }
         return result;
     }
 
     /**
      * 组装 WebSocket 推送使用的在线用户新增/更新事件
      */
-    private OnlineUserUpsertEvent toOnlineUserUpsertEvent(String userId, Integer sessionCount, UserEntity user) {
+    private OnlineUserUpsertEvent toOnlineUserUpsertEvent(String userId, Integer sessionCount, UserSummary user) {
         OnlineUserUpsertEvent event = new OnlineUserUpsertEvent();
         event.setUserId(userId);
         event.setSessionCount(sessionCount);
         if (user == null) {
             return event;
         }
-        event.setUsername(user.getUsername());
-        event.setNickname(user.getNickname());
-        event.setRealName(user.getRealName());
-        event.setLoginIp(user.getLastLoginIp());
-        LocalDateTime loginTime = user.getLastLoginTime();
+        event.setUsername(user.username());
+        event.setNickname(user.nickname());
+        event.setRealName(user.realName());
+        event.setLoginIp(user.lastLoginIp());
+        LocalDateTime loginTime = user.lastLoginTime();
         if (loginTime != null) {
             String text = DateUtils.formatDateTime(loginTime);
             event.setLoginTime(text);
@@ -232,7 +320,7 @@ public class OnlineUserWsLifecycleHandler {
     /**
      * 组装接口返回的在线用户视图对象
      */
-    private OnlineUserVo toOnlineUserVo(String userId, Integer sessionCount, UserEntity user) {
+    private OnlineUserVo toOnlineUserVo(String userId, Integer sessionCount, UserSummary user) {
         OnlineUserVo vo = new OnlineUserVo();
         try {
             vo.setUserId(Long.valueOf(userId));
@@ -243,11 +331,11 @@ public class OnlineUserWsLifecycleHandler {
         if (user == null) {
             return vo;
         }
-        vo.setUsername(user.getUsername());
-        vo.setNickname(user.getNickname());
-        vo.setRealName(user.getRealName());
-        vo.setLoginIp(user.getLastLoginIp());
-        LocalDateTime loginTime = user.getLastLoginTime();
+        vo.setUsername(user.username());
+        vo.setNickname(user.nickname());
+        vo.setRealName(user.realName());
+        vo.setLoginIp(user.lastLoginIp());
+        LocalDateTime loginTime = user.lastLoginTime();
         if (loginTime != null) {
             String text = DateUtils.formatDateTime(loginTime);
             vo.setLoginTime(text);
@@ -262,4 +350,16 @@ public class OnlineUserWsLifecycleHandler {
     private void pushToOnlineRoom(WsMessage<?> message) {
         wsPushService.pushToRoom(OnlineUserConstants.ROOM_ONLINE_USER, message);
     }
+
+    /**
+     * 在线用户展示所需的用户摘要（不缓存密码等敏感字段）
+     */
+    private record UserSummary(String username, String nickname, String realName,
+                               String lastLoginIp, LocalDateTime lastLoginTime) {
+
+        static UserSummary of(UserEntity entity) {
+            return new UserSummary(entity.getUsername(), entity.getNickname(), entity.getRealName(),
+                    entity.getLastLoginIp(), entity.getLastLoginTime());
+        }
+    }
 }
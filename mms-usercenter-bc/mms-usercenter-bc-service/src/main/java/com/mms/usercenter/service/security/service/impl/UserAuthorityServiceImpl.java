@@ -1,31 +1,32 @@
 package com.mms.usercenter.service.security.service.impl;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.mms.common.cache.constants.CacheNameConstants;
+import com.mms.common.cache.manager.NearCacheManager;
+import com.mms.common.cache.utils.RedisUtils;
 import com.mms.common.core.exceptions.ServerException;
 import com.mms.usercenter.common.auth.entity.UserEntity;
-import com.mms.usercenter.common.auth.entity.UserRoleEntity;
-import com.mms.usercenter.common.auth.entity.RolePermissionEntity;
+import com.mms.common.security.core.constants.UserAuthorityCacheKeyConstants;
 import com.mms.common.security.core.vo.UserAuthorityVo;
 import com.mms.usercenter.service.auth.mapper.PermissionMapper;
 import com.mms.usercenter.service.auth.mapper.RoleMapper;
-import com.mms.usercenter.service.auth.mapper.RolePermissionMapper;
 import com.mms.usercenter.service.auth.mapper.UserMapper;
-import com.mms.usercenter.service.auth.mapper.UserRoleMapper;
 import com.mms.usercenter.service.security.service.UserAuthorityService;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -41,6 +42,16 @@ import java.util.stream.Collectors;
 @Service
 public class UserAuthorityServiceImpl implements UserAuthorityService {
 
+    /**
+     * 单次 DEL 的最大 key 数
+     */
+    private static final int EVICT_BATCH_SIZE = 500;
+
+    /**
+     * 批量清除超过该人数时，只广播一次全量失效，而不是逐个用户广播
+     */
+    private static final int BROADCAST_ALL_THRESHOLD = 1000;
+
     /**
      * 通过代理对象触发 Spring Cache AOP（避免类内自调用导致 @CacheEvict 不生效）
      */
@@ -54,24 +65,24 @@ public class UserAuthorityServiceImpl implements UserAuthorityService {
     @Resource
     private RoleMapper roleMapper;
 
-    @Resource
-    private UserRoleMapper userRoleMapper;
-
     @Resource
     private PermissionMapper permissionMapper;
 
     @Resource
-    private RolePermissionMapper rolePermissionMapper;
+    private CacheManager cacheManager;
 
     /**
      * 根据用户名查询用户角色和权限（带缓存）
+     * <p>
+     * sync = true：并发未命中合并为一次回源（结果为 null 时不缓存）
+     * </p>
      *
      * @param username 用户名
      * @return UserAuthorityVo 用户权限信息对象
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = CacheNameConstants.UserCenter.USER_AUTHORITY, key = "#username", unless = "#result == null")
+    @Cacheable(cacheNames = CacheNameConstants.UserCenter.USER_AUTHORITY, key = "#username", sync = true)
     public UserAuthorityVo getUserAuthorities(String username) {
         try {
             UserAuthorityVo vo = new UserAuthorityVo();
@@ -85,12 +96,43 @@ public class UserAuthorityServiceImpl implements UserAuthorityService {
 
     /**
      * 清除指定用户的角色和权限缓存（通过用户名）
+     * <p>
+     * 先删除 Redis 缓存，再通知各业务服务失效本地权限缓存，避免本地缓存回源时读到旧值；
+     * 处于事务中时 @CacheEvict 由事务感知的缓存管理器推迟到提交后执行，广播同样推迟到提交后，
+     * 保证各服务收到通知时 Redis 中的旧值已被删除
+     * </p>
      *
      * @param username 用户名
      */
     @Override
-    @CacheEvict(cacheNames = CacheNameConstants.UserCenter.USER_AUTHORITY, key = "#username")
-    public void clearUserAuthorityCacheByUsername(String username) {}
+    @CacheEvict(cacheNames = CacheNameConstants.UserCenter.USER_AUTHORITY, key = "#username", beforeInvocation = true)
+    public void clearUserAuthorityCacheByUsername(String username) {
+        runAfterCommit(() -> RedisUtils.publish(UserAuthorityCacheKeyConstants.USER_AUTHORITY_INVALIDATE_CHANNEL, username));
+    }
+
+    /**
+     * 批量清除用户的权限缓存（通过用户名）
+     * <p>
+     * 分批 DEL 删除 Redis 缓存，失效本地两级缓存，再以管道方式通知各业务服务失效本地权限缓存；
+     * 处于事务中时在提交后执行，避免提交前被并发请求以旧数据回填
+     * </p>
+     *
+     * @param usernames 用户名集合
+     */
+    @Override
+    public void clearUserAuthorityCacheByUsernames(Collection<String> usernames) {
+        if (CollectionUtils.isEmpty(usernames)) {
+            return;
+        }
+        List<String> distinctUsernames = usernames.stream()
+                .filter(StringUtils::hasText)
+                .distinct()
+                .toList();
+        if (distinctUsernames.isEmpty()) {
+            return;
+        }
+        runAfterCommit(() -> evictUserAuthorityCache(distinctUsernames));
+    }
 
     /**
      * 清除指定用户的权限缓存（通过用户ID）
@@ -126,23 +168,13 @@ public class UserAuthorityServiceImpl implements UserAuthorityService {
             if (roleId == null) {
                 return;
             }
-            // 查询拥有该角色的所有用户
-            LambdaQueryWrapper<UserRoleEntity> wrapper = new LambdaQueryWrapper<>();
-            wrapper.eq(UserRoleEntity::getRoleId, roleId);
-            List<UserRoleEntity> userRoleList = userRoleMapper.selectList(wrapper);
-            if (CollectionUtils.isEmpty(userRoleList)) {
+            // 一次联表查询拥有该角色的所有用户名
+            List<String> usernames = userMapper.selectUsernamesByRoleIds(List.of(roleId));
+            if (CollectionUtils.isEmpty(usernames)) {
                 return;
             }
-            // 获取所有关联的用户ID
-            List<Long> userIds = userRoleList.stream()
-                    .map(UserRoleEntity::getUserId)
-                    .distinct()
-                    .toList();
-            // 开始清除
-            for (Long userId : userIds) {
-                clearUserAuthorityCacheByUserId(userId);
-            }
-            log.info("已清除角色 {} 关联的 {} 个用户的权限缓存", roleId, userIds.size());
+            clearUserAuthorityCacheByUsernames(usernames);
+            log.info("已清除角色 {} 关联的 {} 个用户的权限缓存", roleId, usernames.size());
         } catch (Exception e) {
             // 缓存清除失败不影响主流程，只记录日志
             log.error("清除角色 {} 关联用户的权限缓存失败：{}", roleId, e.getMessage(), e);
@@ -160,26 +192,59 @@ public class UserAuthorityServiceImpl implements UserAuthorityService {
             if (permissionId == null) {
                 return;
             }
-            // 查询拥有该权限的所有角色
-            LambdaQueryWrapper<RolePermissionEntity> rpWrapper = new LambdaQueryWrapper<>();
-            rpWrapper.eq(RolePermissionEntity::getPermissionId, permissionId);
-            List<RolePermissionEntity> relations = rolePermissionMapper.selectList(rpWrapper);
-            if (CollectionUtils.isEmpty(relations)) {
+            // 一次联表查询通过角色拥有该权限的所有用户名（多个角色下的同一用户只清除一次）
+            List<String> usernames = userMapper.selectUsernamesByPermissionId(permissionId);
+            if (CollectionUtils.isEmpty(usernames)) {
                 return;
             }
-            List<Long> roleIds = relations.stream()
-                    .map(RolePermissionEntity::getRoleId)
-                    .filter(Objects::nonNull)
-                    .distinct()
+            clearUserAuthorityCacheByUsernames(usernames);
+            log.info("已清除权限 {} 关联的 {} 个用户的权限缓存", permissionId, usernames.size());
+        } catch (Exception e) {
+            // 缓存清除失败不影响主流程，只记录日志
+            log.error("清除权限 {} 关联角色下用户的权限缓存失败：{}", permissionId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 处于事务中时在提交后执行，否则立即执行
+     */
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 执行批量清除
+     */
+    private void evictUserAuthorityCache(List<String> usernames) {
+        try {
+            List<String> keys = usernames.stream()
+                    .map(username -> CacheNameConstants.UserCenter.USER_AUTHORITY + username)
                     .toList();
-            // 开始清除
-            for (Long roleId : roleIds) {
-                clearUserAuthorityCacheByRoleId(roleId);
+            for (int from = 0; from < keys.size(); from += EVICT_BATCH_SIZE) {
+                RedisUtils.multiDelete(keys.subList(from, Math.min(from + EVICT_BATCH_SIZE, keys.size())));
+            }
+            // 绕过了 Spring Cache，需单独失效两级缓存的本地层
+            if (cacheManager instanceof NearCacheManager nearCacheManager) {
+                nearCacheManager.evictLocal(CacheNameConstants.UserCenter.USER_AUTHORITY, usernames);
+            }
+            if (usernames.size() > BROADCAST_ALL_THRESHOLD) {
+                RedisUtils.publish(UserAuthorityCacheKeyConstants.USER_AUTHORITY_INVALIDATE_CHANNEL, UserAuthorityCacheKeyConstants.INVALIDATE_ALL);
+            } else {
+                RedisUtils.executePipelined(operations -> usernames.forEach(username ->
+                        operations.convertAndSend(UserAuthorityCacheKeyConstants.USER_AUTHORITY_INVALIDATE_CHANNEL, username)));
             }
-            log.info("已清除权限 {} 关联的 {} 个角色下用户的权限缓存", permissionId, roleIds.size());
         } catch (Exception e) {
             // 缓存清除失败不影响主流程，只记录日志
-            log.error("清除权限 {} 关联角色下用户的权限缓存失败：{}", permissionId, e.getMessage(), e);
+            log.error("批量清除 {} 个用户的权限缓存失败：{}", usernames.size(), e.getMessage(), e);
         }
     }
 
@@ -0,0 +1,103 @@
+#!/usr/bin/env python3
+# -*- coding: utf-8 -*-
+"""
+按 ip2region maker 的 xdb 布局（version 2，VectorIndex 策略，小端）把少量 IP 段生成测试用 xdb：
+头部 256 字节 + 256x256 向量索引 + 区域数据 + 段索引，跨 /16 的段按 /16 拆分后写入索引。
+
+用法：python3 script/ip2region-test-xdb-maker.py <源文件 startIp|endIp|region> <输出 xdb>
+例如：python3 script/ip2region-test-xdb-maker.py \
+        mms-gateway-bc/src/test/resources/ip2region/test-ip.merge.txt \
+        mms-gateway-bc/src/test/resources/ip2region/test-ip2region.xdb
+"""
+import struct
+import sys
+
+HEADER_INFO_LENGTH = 256
+VECTOR_INDEX_ROWS = 256
+VECTOR_INDEX_COLS = 256
+VECTOR_INDEX_SIZE = 8
+SEGMENT_INDEX_SIZE = 14
+VECTOR_INDEX_LENGTH = VECTOR_INDEX_ROWS * VECTOR_INDEX_COLS * VECTOR_INDEX_SIZE
+# 固定的生成时间，保证重复生成的文件字节一致
+CREATED_AT = 1792224000
+
+
+def ip_to_long(ip):
+    parts = [int(p) for p in ip.split('.')]
+    if len(parts) != 4 or any(p < 0 or p > 255 for p in parts):
+        raise ValueError('invalid ip: ' + ip)
+    return (parts[0] << 24) | (parts[1] << 16) | (parts[2] << 8) | parts[3]
+
+
+def load_segments(path):
+    segments = []
+    with open(path, encoding='utf-8') as f:
+        for line in f:
+            line = line.strip()
+            if not line:
+                continue
+            start, end, region = line.split('|', 2)
+            segments.append((ip_to_long(start), ip_to_long(end), region))
+    segments.sort()
+    for prev, cur in zip(segments, segments[1:]):
+        if cur[0] <= prev[1]:
+            raise ValueError('overlapping segments: %s / %s' % (prev, cur))
+    return segments
+
+
+def split_by_16(start, end, region):
+    """按 /16（前两段）拆分，保证每个向量索引槽位只引用自身范围内的段"""
+    result = []
+    s = start
+    while s <= end:
+        block_end = (s | 0xFFFF)
+        e = min(end, block_end)
+        result.append((s, e, region))
+        s = e + 1
+    return result
+
+
+def make(src, dst):
+    segments = load_segments(src)
+    buf = bytearray(HEADER_INFO_LENGTH + VECTOR_INDEX_LENGTH)
+
+    # 区域数据（相同区域只写一次）
+    region_ptr = {}
+    for _, _, region in segments:
+        if region in region_ptr:
+            continue
+        data = region.encode('utf-8')
+        region_ptr[region] = (len(buf), len(data))
+        buf += data
+
+    # 段索引 + 向量索引
+    vector = {}
+    start_index_ptr = len(buf)
+    for start, end, region in segments:
+        ptr, length = region_ptr[region]
+        for s, e, _ in split_by_16(start, end, region):
+            pos = len(buf)
+            buf += struct.pack('<IIHI', s, e, length, ptr)
+            key = ((s >> 24) & 0xFF, (s >> 16) & 0xFF)
+            if key in vector:
+                vector[key][1] = pos
+            else:
+                vector[key] = [pos, pos]
+    end_index_ptr = len(buf) - SEGMENT_INDEX_SIZE
+
+    for (il0, il1), (s_ptr, e_ptr) in vector.items():
+        idx = HEADER_INFO_LENGTH + il0 * VECTOR_INDEX_COLS * VECTOR_INDEX_SIZE + il1 * VECTOR_INDEX_SIZE
+        struct.pack_into('<II', buf, idx, s_ptr, e_ptr)
+
+    # 头部：version | indexPolicy | createdAt | startIndexPtr | endIndexPtr
+    struct.pack_into('<HHIII', buf, 0, 2, 1, CREATED_AT, start_index_ptr, end_index_ptr)
+
+    with open(dst, 'wb') as f:
+        f.write(buf)
+
+
+if __name__ == '__main__':
+    if len(sys.argv) != 3:
+        print(__doc__)
+        sys.exit(1)
+    make(sys.argv[1], sys.argv[2])